@@ -0,0 +1,66 @@
+package hexlet.code.benchmarks;
+
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Task;
+import hexlet.code.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static hexlet.code.benchmarks.SeededApplication.LABELS;
+import static hexlet.code.benchmarks.SeededApplication.STATUSES;
+import static hexlet.code.benchmarks.SeededApplication.USERS;
+
+/**
+ * TaskServiceImpl.createTask against the seeded database, including lookups
+ * of the referenced entities, the insert and the outbox record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CreateTaskBenchmark {
+
+    private TaskServiceImpl taskService;
+    private ServletRequestAttributes requestAttributes;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp(final SeededApplication application) {
+        taskService = application.getBean(TaskServiceImpl.class);
+        SecurityContextHolder.getContext().setAuthentication(application.authentication());
+    }
+
+    // the current user is request scoped, every invocation acts as a separate request
+    @Setup(Level.Invocation)
+    public void startRequest() {
+        requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishRequest() {
+        requestAttributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        final long n = ++counter;
+        final TaskDto taskDto = new TaskDto("benchmark task " + n, "created by benchmark",
+                n % USERS + 1, n % STATUSES + 1, Set.of(n % LABELS + 1));
+        return taskService.createTask(taskDto);
+    }
+}
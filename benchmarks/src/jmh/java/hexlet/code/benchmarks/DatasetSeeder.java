@@ -0,0 +1,107 @@
+package hexlet.code.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Fills an empty, migrated database with a synthetic dataset through JDBC batches,
+ * bypassing JPA so that millions of rows take minutes rather than hours.
+ * Users are numbered from 1 and have emails {@code user<id>@example.com}.
+ */
+public final class DatasetSeeder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long RANDOM_SEED = 42;
+    private static final int UNASSIGNED_PERCENT = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String passwordHash;
+
+    public DatasetSeeder(final JdbcTemplate jdbcTemplate,
+                         final TransactionTemplate transactionTemplate,
+                         final String passwordHash) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordHash = passwordHash;
+    }
+
+    /**
+     * @param labelsPerTask average number of labels of a task, labels with lower ids are attached more often
+     */
+    public void seed(final int users, final int statuses, final int labels, final long tasks, final int labelsPerTask) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final Random random = new Random(RANDOM_SEED);
+
+        insert("""
+                INSERT INTO users (id, first_name, last_name, email, password, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, users, id -> new Object[] {
+                    id, "First" + id, "Last" + id, email(id), passwordHash, now, now});
+        insert("INSERT INTO task_statuses (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                statuses, id -> new Object[] {id, "status" + id, now, now});
+        insert("INSERT INTO labels (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                labels, id -> new Object[] {id, "label" + id, now, now});
+
+        for (long from = 1; from <= tasks; from += BATCH_SIZE) {
+            final long to = Math.min(from + BATCH_SIZE, tasks + 1);
+            final List<Object[]> taskRows = new ArrayList<>(BATCH_SIZE);
+            final List<Object[]> labelRows = new ArrayList<>(BATCH_SIZE * labelsPerTask);
+            for (long id = from; id < to; id++) {
+                final Long executorId = random.nextInt(100) < UNASSIGNED_PERCENT ? null : random.nextInt(users) + 1L;
+                taskRows.add(new Object[] {
+                    id, "task " + id, "description of task " + id, random.nextInt(statuses) + 1L,
+                    random.nextInt(users) + 1L, executorId, now, now});
+                for (long labelId : taskLabels(random, labels, labelsPerTask)) {
+                    labelRows.add(new Object[] {id, labelId});
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO tasks (id, name, description, task_status_id, author_id, executor_id,
+                                           created_at, updated_at, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                        """, taskRows);
+                jdbcTemplate.batchUpdate("INSERT INTO tasks_labels (task_id, labels_id) VALUES (?, ?)", labelRows);
+            });
+        }
+
+        // ids were given explicitly, Hibernate has to continue after them
+        for (String table : List.of("users", "task_statuses", "labels", "tasks")) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM "
+                    + table + ")");
+        }
+    }
+
+    public static String email(final long userId) {
+        return "user" + userId + "@example.com";
+    }
+
+    private void insert(final String sql, final long count, final LongFunction<Object[]> row) {
+        for (long from = 1; from <= count; from += BATCH_SIZE) {
+            final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (long id = from; id < Math.min(from + BATCH_SIZE, count + 1); id++) {
+                rows.add(row.apply(id));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        }
+    }
+
+    private static Set<Long> taskLabels(final Random random, final int labels, final int labelsPerTask) {
+        final int count = Math.min(random.nextInt(2 * labelsPerTask + 1), labels);
+        final Set<Long> ids = new LinkedHashSet<>();
+        while (ids.size() < count) {
+            final double skewed = random.nextDouble() * random.nextDouble();
+            ids.add((long) (skewed * labels) + 1);
+        }
+        return ids;
+    }
+}
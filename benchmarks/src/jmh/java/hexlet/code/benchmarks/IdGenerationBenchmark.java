@@ -0,0 +1,95 @@
+package hexlet.code.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row insert throughput with the statements Hibernate issues for each id strategy:
+ * an IDENTITY column needs one round trip per row to get the generated key back,
+ * a pooled-lo sequence needs one nextval per block and lets rows go in JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 50;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:ids;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE identity_rows (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255))");
+            statement.execute("CREATE TABLE sequence_rows (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            statement.execute("CREATE SEQUENCE sequence_rows_seq START WITH 1 INCREMENT BY " + ROWS);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identity() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO identity_rows (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, "task");
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long pooledSequence() throws SQLException {
+        final long low;
+        try (Statement statement = connection.createStatement();
+             ResultSet next = statement.executeQuery("SELECT NEXT VALUE FOR sequence_rows_seq")) {
+            next.next();
+            low = next.getLong(1);
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO sequence_rows (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setLong(1, low + i);
+                insert.setString(2, "task");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return low + ROWS - 1;
+    }
+}
@@ -0,0 +1,82 @@
+package hexlet.code.benchmarks;
+
+import hexlet.code.utils.JWTHelper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.impl.DefaultClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.jsonwebtoken.SignatureAlgorithm.HS256;
+import static io.jsonwebtoken.impl.TextCodec.BASE64;
+
+/**
+ * Issue and verify throughput of JWTHelper compared with the previous
+ * implementation, which kept the secret as a base64 string and configured
+ * a new parser for every verified token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JWTHelperBenchmark {
+
+    private static final String ISSUER = "spring_blog";
+    private static final String SECRET = "secret";
+    private static final long EXPIRATION_SEC = 86400;
+    private static final long CLOCK_SKEW_SEC = 300;
+    private static final Map<String, Object> ATTRIBUTES = Map.of("email", "petr@petr.com");
+
+    private JWTHelper jwtHelper;
+    private String legacySecretKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtHelper = new JWTHelper(ISSUER, EXPIRATION_SEC, CLOCK_SKEW_SEC, SECRET);
+        legacySecretKey = BASE64.encode(SECRET);
+        token = jwtHelper.expiring(ATTRIBUTES);
+    }
+
+    @Benchmark
+    public String expiring() {
+        return jwtHelper.expiring(ATTRIBUTES);
+    }
+
+    @Benchmark
+    public Map<String, Object> verify() {
+        return jwtHelper.verify(token);
+    }
+
+    @Benchmark
+    public String expiringLegacy() {
+        final Claims claims = Jwts.claims();
+        claims.setIssuer(ISSUER);
+        claims.setIssuedAt(DefaultClock.INSTANCE.now());
+        claims.putAll(ATTRIBUTES);
+        claims.setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_SEC * 1000));
+        return Jwts.builder()
+                .signWith(HS256, legacySecretKey)
+                .setClaims(claims)
+                .compact();
+    }
+
+    @Benchmark
+    public Map<String, Object> verifyLegacy() {
+        return Jwts.parser()
+                .requireIssuer(ISSUER)
+                .setClock(DefaultClock.INSTANCE)
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SEC)
+                .setSigningKey(legacySecretKey)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
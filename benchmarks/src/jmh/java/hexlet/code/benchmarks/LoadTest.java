@@ -0,0 +1,303 @@
+package hexlet.code.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.AppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static hexlet.code.utils.CursorCodec.encode;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static java.net.http.HttpResponse.BodyHandlers.ofString;
+
+/**
+ * Boots the application on a local H2 file database, seeds it with {@link DatasetSeeder}
+ * and sends a fixed rate of requests to the REST API, then prints latency percentiles
+ * and throughput per endpoint.
+ *
+ * <p>Latency is measured from the moment a request was scheduled, not sent, so a stalled
+ * server is not hidden by the generator waiting for it.
+ *
+ * <p>Run with {@code ./gradlew :benchmarks:loadTest}, settings are the {@code loadtest.*}
+ * project properties, e.g. {@code -Ploadtest.tasks=2000000 -Ploadtest.rate=500}.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "password";
+    private static final String BASE_URL = "/api";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final Map<Operation, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Queue<Long> ownTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final String baseUri;
+    private final long tasks;
+    private final int users;
+    private final int statuses;
+    private final int labels;
+    private String token;
+
+    private LoadTest(final String baseUri, final long tasks, final int users, final int statuses, final int labels) {
+        this.baseUri = baseUri;
+        this.tasks = tasks;
+        this.users = users;
+        this.statuses = statuses;
+        this.labels = labels;
+    }
+
+    /**
+     * Requests sent by the load test, each weight is the share of the traffic in percents.
+     */
+    private enum Operation {
+        LIST("GET /api/tasks?cursor", 35),
+        LIST_FILTERED("GET /api/tasks?taskStatus&labels", 25),
+        GET("GET /api/tasks/{id}", 20),
+        CREATE("POST /api/tasks", 10),
+        UPDATE("PUT /api/tasks/{id}", 5),
+        DELETE("DELETE /api/tasks/{id}", 4),
+        LOGIN("POST /api/login", 1);
+
+        private final String title;
+        private final int weight;
+
+        Operation(final String title, final int weight) {
+            this.title = title;
+            this.weight = weight;
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int users = Integer.getInteger("loadtest.users", 1000);
+        final int statuses = Integer.getInteger("loadtest.statuses", 10);
+        final int labels = Integer.getInteger("loadtest.labels", 100);
+        final long tasks = Long.getLong("loadtest.tasks", 1_000_000);
+        final int labelsPerTask = Integer.getInteger("loadtest.labels-per-task", 3);
+        final int rate = Integer.getInteger("loadtest.rate", 200);
+        final long warmup = Long.getLong("loadtest.warmup", 30);
+        final long duration = Long.getLong("loadtest.duration", 120);
+        final Path directory = Path.of(System.getProperty("loadtest.directory", "loadtest"));
+
+        FileSystemUtils.deleteRecursively(directory);
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:file:" + directory.toAbsolutePath().resolve("db"),
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "logging.level.root=WARN")
+                .run(args);
+        try {
+            final long seedStart = System.nanoTime();
+            final String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+            new DatasetSeeder(context.getBean(JdbcTemplate.class), context.getBean(TransactionTemplate.class),
+                    passwordHash).seed(users, statuses, labels, tasks, labelsPerTask);
+            System.out.printf("Seeded %d tasks in %d s%n", tasks,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+            final String port = context.getEnvironment().getRequiredProperty("local.server.port");
+            final LoadTest loadTest = new LoadTest("http://localhost:" + port + BASE_URL, tasks, users, statuses,
+                    labels);
+            loadTest.token = loadTest.login(1, System.nanoTime()).join().body();
+
+            loadTest.run(rate, warmup);
+            loadTest.recorders.clear();
+            loadTest.run(rate, duration);
+            loadTest.report(duration);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(final int rate, final long seconds) throws InterruptedException {
+        final Operation[] schedule = schedule();
+        final long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        final long start = System.nanoTime();
+        final AtomicLong tick = new AtomicLong();
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        timer.scheduleAtFixedRate(() -> {
+            final long n = tick.getAndIncrement();
+            send(schedule[(int) (n % schedule.length)], start + n * period);
+        }, 0, period, TimeUnit.NANOSECONDS);
+        TimeUnit.SECONDS.sleep(seconds);
+        timer.shutdown();
+        timer.awaitTermination(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        // let the requests already sent complete before the results are read
+        final long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private void send(final Operation operation, final long scheduledAt) {
+        final Recorder recorder = recorders.computeIfAbsent(operation, o -> new Recorder());
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final HttpRequest.Builder request = HttpRequest.newBuilder().timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+        switch (operation) {
+            // a page from a random depth, like a client that followed the cursor that far
+            case LIST -> request.uri(uri("/tasks?cursor=" + encode(random.nextLong(tasks))));
+            case LIST_FILTERED -> request.uri(uri("/tasks?taskStatus=" + (random.nextInt(statuses) + 1)
+                    + "&labels=" + (random.nextInt(labels) + 1)));
+            case GET -> request.uri(uri("/tasks/" + (random.nextLong(tasks) + 1)));
+            case CREATE -> request.uri(uri("/tasks")).POST(json(taskBody(random)))
+                    .header("Content-Type", "application/json");
+            case UPDATE -> {
+                final Long id = ownTasks.peek();
+                if (id == null) {
+                    send(Operation.CREATE, scheduledAt);
+                    return;
+                }
+                request.uri(uri("/tasks/" + id)).PUT(json(taskBody(random)))
+                        .header("Content-Type", "application/json");
+            }
+            case DELETE -> {
+                final Long id = ownTasks.poll();
+                if (id == null) {
+                    send(Operation.CREATE, scheduledAt);
+                    return;
+                }
+                request.uri(uri("/tasks/" + id)).DELETE();
+            }
+            case LOGIN -> {
+                login(random.nextInt(users) + 1, scheduledAt);
+                return;
+            }
+            default -> throw new IllegalStateException("Unexpected operation " + operation);
+        }
+        final HttpResponse.BodyHandler<?> bodyHandler = operation == Operation.CREATE ? ofString() : discarding();
+        inFlight.incrementAndGet();
+        client.sendAsync(request.build(), bodyHandler)
+                .whenComplete((response, e) -> {
+                    inFlight.decrementAndGet();
+                    final boolean success = e == null && response.statusCode() < 400;
+                    recorder.record(System.nanoTime() - scheduledAt, success);
+                    if (success && operation == Operation.CREATE) {
+                        ownTasks.add(idOf((String) response.body()));
+                    }
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> login(final long userId, final long scheduledAt) {
+        final Recorder recorder = recorders.computeIfAbsent(Operation.LOGIN, o -> new Recorder());
+        final HttpRequest request = HttpRequest.newBuilder(uri("/login"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("email", DatasetSeeder.email(userId), "password", PASSWORD)))
+                .build();
+        inFlight.incrementAndGet();
+        return client.sendAsync(request, ofString())
+                .whenComplete((response, e) -> {
+                    inFlight.decrementAndGet();
+                    recorder.record(System.nanoTime() - scheduledAt, e == null && response.statusCode() < 400);
+                });
+    }
+
+    private Map<String, Object> taskBody(final ThreadLocalRandom random) {
+        return Map.of(
+                "name", "load test task",
+                "description", "created by the load test",
+                "executorId", random.nextInt(users) + 1,
+                "taskStatusId", random.nextInt(statuses) + 1,
+                "labelIds", Set.of(random.nextInt(labels) + 1));
+    }
+
+    private URI uri(final String path) {
+        return URI.create(baseUri + path);
+    }
+
+    private void report(final long seconds) {
+        System.out.printf("%n%-36s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        new TreeMap<>(recorders).forEach((operation, recorder) -> {
+            final long[] latencies = recorder.sorted();
+            System.out.printf("%-36s %9d %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    operation.title, latencies.length, recorder.errors.get(), (double) latencies.length / seconds,
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99));
+        });
+    }
+
+    // operations interleaved in the proportion of their weights
+    private static Operation[] schedule() {
+        final List<Operation> schedule = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            schedule.addAll(Collections.nCopies(operation.weight, operation));
+        }
+        Collections.shuffle(schedule, new Random(schedule.size()));
+        return schedule.toArray(Operation[]::new);
+    }
+
+    private static HttpRequest.BodyPublisher json(final Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long idOf(final String task) {
+        try {
+            return MAPPER.readTree(task).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double percentile(final long[] sorted, final int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * Latencies of one endpoint in nanoseconds.
+     */
+    private static final class Recorder {
+
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(final long latency, final boolean success) {
+            latencies.add(latency);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        long[] sorted() {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+}
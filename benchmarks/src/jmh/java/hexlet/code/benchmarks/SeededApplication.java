@@ -0,0 +1,66 @@
+package hexlet.code.benchmarks;
+
+import hexlet.code.AppApplication;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+
+/**
+ * The application started against an in-memory H2 migrated by Liquibase
+ * and seeded with a fixed dataset, shared by the benchmarks that need the database.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    public static final int USERS = 50;
+    public static final int STATUSES = 5;
+    public static final int LABELS = 20;
+    public static final int TASKS = 10_000;
+    public static final int LABELS_PER_TASK = 2;
+    public static final long AUTHOR_ID = 1;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "logging.level.root=WARN")
+                .run();
+        new DatasetSeeder(getBean(JdbcTemplate.class), getBean(TransactionTemplate.class), "")
+                .seed(USERS, STATUSES, LABELS, TASKS, LABELS_PER_TASK);
+        // the search index is filled on startup, when the database was still empty
+        getBean(TaskSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(final Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Authentication authentication() {
+        final UserPrincipal principal = new UserPrincipal(AUTHOR_ID, DatasetSeeder.email(AUTHOR_ID), "",
+                DEFAULT_AUTHORITIES);
+        return new UsernamePasswordAuthenticationToken(principal, null, DEFAULT_AUTHORITIES);
+    }
+}
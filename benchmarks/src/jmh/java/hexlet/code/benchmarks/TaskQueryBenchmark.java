@@ -0,0 +1,75 @@
+package hexlet.code.benchmarks;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.querydsl.binding.QuerydslBindingsFactory;
+import org.springframework.data.querydsl.binding.QuerydslPredicateBuilder;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GET /api/tasks filter path: binding request parameters to a QueryDSL
+ * predicate the way @QuerydslPredicate does, and loading a page of views
+ * matching it from the seeded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskQueryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final TypeInformation<Task> TASK_TYPE = ClassTypeInformation.from(Task.class);
+
+    private QuerydslPredicateBuilder predicateBuilder;
+    private QuerydslBindings bindings;
+    private MultiValueMap<String, String> parameters;
+    private TaskRepository taskRepository;
+    private Predicate predicate;
+
+    @Setup
+    public void setUp(final SeededApplication application) {
+        predicateBuilder = new QuerydslPredicateBuilder(new DefaultConversionService(),
+                SimpleEntityPathResolver.INSTANCE);
+        bindings = new QuerydslBindingsFactory(SimpleEntityPathResolver.INSTANCE).createBindingsFor(TASK_TYPE);
+
+        parameters = new LinkedMultiValueMap<>();
+        parameters.add("taskStatus", "1");
+        parameters.add("executor", "2");
+        parameters.add("labels", "3");
+        predicate = buildPredicate();
+
+        taskRepository = application.getBean(TaskRepository.class);
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        return predicateBuilder.getPredicate(TASK_TYPE, parameters, bindings);
+    }
+
+    @Benchmark
+    public List<TaskView> findPage() {
+        return taskRepository.findPage(null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TaskView> findFilteredPage() {
+        return taskRepository.findPage(predicate, null, PAGE_SIZE);
+    }
+}
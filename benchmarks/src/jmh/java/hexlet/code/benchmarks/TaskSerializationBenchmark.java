@@ -0,0 +1,86 @@
+package hexlet.code.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Serialization of task responses with the ObjectMapper configured by the
+ * application: a page of TaskView as returned by GET /api/tasks and Task
+ * entity graphs as returned by create and update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private List<TaskView> page;
+    private Task task;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp(final SeededApplication application) {
+        objectMapper = application.getBean(ObjectMapper.class);
+        page = application.getBean(TaskRepository.class).findPage(null, null, PAGE_SIZE);
+
+        final User author = user(1);
+        final User executor = user(2);
+        final TaskStatus taskStatus = new TaskStatus(1, "status1", new Date(), new Date());
+        final List<Label> labels = List.of(
+                new Label(1, "label1", new Date(), new Date()),
+                new Label(2, "label2", new Date(), new Date()));
+        tasks = IntStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> new Task(id, 0L, "task " + id, "description of task " + id,
+                        taskStatus, author, executor, labels, new Date(), new Date()))
+                .collect(toList());
+        task = tasks.get(0);
+    }
+
+    @Benchmark
+    public byte[] taskViewPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] task() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] taskBatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    private static User user(final long id) {
+        final User user = new User();
+        user.setId(id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("password");
+        user.setCreatedAt(new Date());
+        return user;
+    }
+}
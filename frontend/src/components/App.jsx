@@ -100,13 +100,24 @@ const App = () => {
       {
         name: 'tasks',
         getData: async () => {
-          const { data } = await axios.get(routes.apiTasks(), { headers: auth.getAuthHeader() });
-          if (!Array.isArray(data)) {
-            notify.addError('Сервер не вернул список задач');
-            dispatch(tasksActions.addTasks([]));
-            return;
-          }
-          dispatch(tasksActions.addTasks(data));
+          // the server returns tasks by pages, the next page cursor comes in X-Next-Cursor header
+          const tasks = [];
+          let cursor;
+          do {
+            // eslint-disable-next-line no-await-in-loop
+            const { data, headers } = await axios.get(routes.apiTasks(), {
+              headers: auth.getAuthHeader(),
+              params: { cursor },
+            });
+            if (!Array.isArray(data)) {
+              notify.addError('Сервер не вернул список задач');
+              dispatch(tasksActions.addTasks([]));
+              return;
+            }
+            tasks.push(...data);
+            cursor = headers['x-next-cursor'];
+          } while (cursor);
+          dispatch(tasksActions.addTasks(tasks));
         },
         isSecurity: true,
       },
@@ -1,7 +1,11 @@
 package hexlet.code;
 
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.PreconditionFailedException;
+import hexlet.code.exception.TooManyRequestsException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,6 +22,9 @@ import java.util.NoSuchElementException;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
@@ -40,7 +47,7 @@ public class BaseExceptionHandler {
     }
 
     @ResponseStatus(BAD_REQUEST)
-    @ExceptionHandler({HttpMessageNotReadableException.class})
+    @ExceptionHandler({HttpMessageNotReadableException.class, BadRequestException.class})
     public String validationExceptionsHandler(Exception exception) {
         return exception.getMessage();
     }
@@ -60,7 +67,25 @@ public class BaseExceptionHandler {
     @ResponseStatus(UNPROCESSABLE_ENTITY)
     @ExceptionHandler(DataIntegrityViolationException.class)
     public String validationExceptionsHandler(DataIntegrityViolationException exception) {
-        return exception.getCause().getCause().getMessage();
+        return exception.getMostSpecificCause().getMessage();
+    }
+
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public String optimisticLockingFailureExceptionHandler(OptimisticLockingFailureException exception) {
+        return "Entity was modified concurrently, reload it and retry";
+    }
+
+    @ResponseStatus(PRECONDITION_FAILED)
+    @ExceptionHandler(PreconditionFailedException.class)
+    public String preconditionFailedExceptionHandler(PreconditionFailedException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public String tooManyRequestsExceptionHandler(TooManyRequestsException exception) {
+        return exception.getMessage();
     }
 
     @ResponseStatus(UNAUTHORIZED)
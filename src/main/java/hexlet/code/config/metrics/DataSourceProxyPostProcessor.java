@@ -0,0 +1,39 @@
+package hexlet.code.config.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource into a proxy reporting every executed statement
+ * to {@link SqlStatementRecorder} and to the {@link SqlStatementCounter} of the current request.
+ * The recorder is looked up on the first statement, so that the meter registry it needs
+ * isn't created while post processors are still registered.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final SingletonSupplier<SqlStatementRecorder> recorder;
+
+    public DataSourceProxyPostProcessor(final ObjectProvider<SqlStatementRecorder> recorder) {
+        this.recorder = SingletonSupplier.of(recorder::getObject);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                    .afterQuery((execInfo, queries) -> {
+                        SqlStatementCounter.record(execInfo.getElapsedTime());
+                        recorder.obtain().record(execInfo, queries);
+                    })
+                    .build();
+        }
+        return bean;
+    }
+}
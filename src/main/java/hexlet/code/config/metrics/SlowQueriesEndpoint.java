@@ -0,0 +1,30 @@
+package hexlet.code.config.metrics;
+
+import hexlet.code.dto.SqlStatementSummary;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowqueries?limit=N}: the statements with the longest executions since startup.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SqlStatementRecorder recorder;
+
+    public SlowQueriesEndpoint(final SqlStatementRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public List<SqlStatementSummary> slowest(@Nullable final Integer limit) {
+        return recorder.slowest(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
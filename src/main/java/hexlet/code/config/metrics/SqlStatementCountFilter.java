@@ -0,0 +1,106 @@
+package hexlet.code.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and database time of every request and records them as
+ * http.server.requests.sql.statements and http.server.requests.sql.time per handler,
+ * an endpoint whose statement count grows with its page size is an N+1 query.
+ *
+ * <p>With sql.statement-count-header on, as in the dev profile, the numbers are also returned in the
+ * {@value #STATEMENTS_HEADER} and {@value #TIME_HEADER} headers. Headers can't change once the response
+ * is committed, so they count the statements run before the body is flushed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean header;
+
+    public SqlStatementCountFilter(final MeterRegistry meterRegistry,
+                                   @Value("${sql.statement-count-header:false}") final boolean header) {
+        this.meterRegistry = meterRegistry;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final SqlStatementCounter counter = SqlStatementCounter.start();
+        try {
+            if (header) {
+                filterChain.doFilter(request, new CountHeaderResponse(response, counter));
+                if (!response.isCommitted()) {
+                    addHeaders(response, counter);
+                }
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            SqlStatementCounter.stop();
+            record(request, counter);
+        }
+    }
+
+    private void record(final HttpServletRequest request, final SqlStatementCounter counter) {
+        final Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", Optional.ofNullable(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                        .map(Object::toString)
+                        .orElse(UNKNOWN_URI));
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(counter.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent in SQL statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(counter.getTimeMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private static void addHeaders(final HttpServletResponse response, final SqlStatementCounter counter) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(counter.getStatements()));
+        response.setHeader(TIME_HEADER, String.valueOf(counter.getTimeMs()));
+    }
+
+    private static final class CountHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementCounter counter;
+
+        CountHeaderResponse(final HttpServletResponse response, final SqlStatementCounter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeaders((HttpServletResponse) getResponse(), counter);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package hexlet.code.config.metrics;
+
+/**
+ * Number and total execution time of the SQL statements run by the current thread
+ * between {@link #start()} and {@link #stop()}, statements outside of that window aren't counted.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStatementCounter> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long timeMs;
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlStatementCounter start() {
+        final SqlStatementCounter counter = new SqlStatementCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(final long elapsedMs) {
+        final SqlStatementCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+            counter.timeMs += elapsedMs;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTimeMs() {
+        return timeMs;
+    }
+}
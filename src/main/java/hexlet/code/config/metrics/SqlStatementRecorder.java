@@ -0,0 +1,142 @@
+package hexlet.code.config.metrics;
+
+import hexlet.code.dto.SqlStatementSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Execution time per normalized SQL statement: literals and bind parameters are replaced
+ * by {@code ?}, so every execution of the same query is counted together whatever values
+ * it was run with. Statements slower than sql.slow-query-threshold are logged, without
+ * their parameter values.
+ *
+ * <p>The sql.statements timer is tagged only by the kind of statement, select, insert and so on,
+ * so metrics stay at a handful of series. Per-statement figures are kept in memory for the
+ * slowqueries endpoint, for at most sql.max-statements distinct statements, the rest is
+ * counted as {@link #OTHER}.
+ */
+@Slf4j
+@Component
+public class SqlStatementRecorder {
+
+    public static final String METRIC_NAME = "sql.statements";
+    public static final String OTHER = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Set<String> OPERATIONS = Set.of("select", "insert", "update", "delete", "merge", "call");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdMs;
+    private final int maxStatements;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlStatementRecorder(final MeterRegistry meterRegistry,
+                                @Value("${sql.slow-query-threshold:500ms}") final Duration slowQueryThreshold,
+                                @Value("${sql.max-statements:500}") final int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdMs = slowQueryThreshold.toMillis();
+        this.maxStatements = maxStatements;
+    }
+
+    public void record(final ExecutionInfo execInfo, final List<QueryInfo> queries) {
+        final String sql = queries.stream()
+                .map(QueryInfo::getQuery)
+                .map(SqlStatementRecorder::normalize)
+                .distinct()
+                .collect(joining("; "));
+        final long elapsedMs = execInfo.getElapsedTime();
+        timers.computeIfAbsent(operation(sql), this::newTimer).record(elapsedMs, TimeUnit.MILLISECONDS);
+        stats(sql).record(elapsedMs);
+
+        if (elapsedMs >= slowQueryThresholdMs) {
+            log.warn("Slow SQL statement took {} ms, {} parameter set(s), {}: {}",
+                    elapsedMs, execInfo.getBatchSize() > 0 ? execInfo.getBatchSize() : 1,
+                    execInfo.isSuccess() ? "succeeded" : "failed", sql);
+        }
+    }
+
+    /**
+     * @return statements with the longest single execution first
+     */
+    public List<SqlStatementSummary> slowest(final int limit) {
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingLong(SqlStatementSummary::getMaxMs).reversed())
+                .limit(limit)
+                .collect(toList());
+    }
+
+    static String normalize(final String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?, ...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    static String operation(final String sql) {
+        final int end = sql.indexOf(' ');
+        final String keyword = (end < 0 ? sql : sql.substring(0, end)).toLowerCase(Locale.ROOT);
+        return OPERATIONS.contains(keyword) ? keyword : OTHER;
+    }
+
+    private StatementStats stats(final String sql) {
+        final StatementStats stats = statements.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        final String key = statements.size() < maxStatements ? sql : OTHER;
+        return statements.computeIfAbsent(key, statement -> new StatementStats());
+    }
+
+    private Timer newTimer(final String operation) {
+        return Timer.builder(METRIC_NAME)
+                .description("Execution time of SQL statements")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static final class StatementStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        void record(final long elapsedMs) {
+            count.increment();
+            totalMs.add(elapsedMs);
+            maxMs.accumulateAndGet(elapsedMs, Math::max);
+        }
+
+        SqlStatementSummary summary(final String sql) {
+            final long executions = count.sum();
+            final long total = totalMs.sum();
+            return new SqlStatementSummary(sql, executions, total,
+                    executions == 0 ? 0 : (double) total / executions, maxMs.get());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hexlet.code.config.security;
+
+import hexlet.code.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership rules for {@code @PreAuthorize} expressions.
+ * The user id carried by the JWT answers them without SQL, otherwise a check
+ * is a single exists query on indexed columns, so no entity is loaded just to compare emails.
+ */
+@Component
+public class OwnershipChecker {
+
+    private final UserRepository userRepository;
+
+    public OwnershipChecker(final UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // the id from the JWT is compared without a query, tokens issued without it are checked by email
+    public boolean isSameUser(final Long userId, final Authentication authentication) {
+        final Object principal = authentication.getPrincipal();
+        if (principal instanceof UserPrincipal && ((UserPrincipal) principal).getId() != null) {
+            return ((UserPrincipal) principal).getId().equals(userId);
+        }
+        return userRepository.existsByIdAndEmail(userId, authentication.getName());
+    }
+}
@@ -3,6 +3,7 @@ package hexlet.code.config.security;
 import hexlet.code.filter.JWTAuthenticationFilter;
 import hexlet.code.filter.JWTAuthorizationFilter;
 import hexlet.code.utils.JWTHelper;
+import hexlet.code.utils.JWTVerificationCache;
 
 import java.util.List;
 
@@ -43,10 +44,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JWTHelper jwtHelper;
+    private final JWTVerificationCache verificationCache;
 
     public SecurityConfig(@Value("${base-url}") final String baseUrl,
                           final UserDetailsService userDetailsService,
-                          final PasswordEncoder passwordEncoder, final JWTHelper jwtHelper) {
+                          final PasswordEncoder passwordEncoder, final JWTHelper jwtHelper,
+                          final JWTVerificationCache verificationCache) {
         this.loginRequest = new AntPathRequestMatcher(baseUrl + LOGIN, POST.toString());
         this.publicUrls = new OrRequestMatcher(
                 loginRequest,
@@ -61,6 +64,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
         this.jwtHelper = jwtHelper;
+        this.verificationCache = verificationCache;
     }
 
     @Override
@@ -80,7 +84,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
         final JWTAuthorizationFilter authorizationFilter = new JWTAuthorizationFilter(
                 publicUrls,
-                jwtHelper
+                verificationCache
         );
 
         http.csrf().disable()
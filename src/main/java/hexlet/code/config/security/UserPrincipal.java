@@ -0,0 +1,26 @@
+package hexlet.code.config.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user together with its id, so the id can travel in the JWT
+ * and be read back without looking the user up by email.
+ * The id is null for tokens issued before it was added to the claims.
+ */
+@Getter
+public class UserPrincipal extends User {
+
+    private final Long id;
+
+    public UserPrincipal(final Long id,
+                         final String email,
+                         final String password,
+                         final Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+}
@@ -3,6 +3,7 @@ package hexlet.code.controller;
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.service.ETagServiceImpl;
 import hexlet.code.service.LabelServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -28,6 +31,7 @@ import java.util.NoSuchElementException;
 
 import static hexlet.code.controller.LabelController.LABEL_PATH;
 import static hexlet.code.controller.UserController.ID;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @RestController
@@ -43,30 +47,48 @@ public class LabelController {
     @Autowired
     private LabelServiceImpl labelService;
 
+    @Autowired
+    private ETagServiceImpl eTagService;
+
     @Operation(summary = "Get Label by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Label found", content =
             @Content(mediaType = "application/json", schema = @Schema(implementation = Label.class))),
+            @ApiResponse(responseCode = "304", description = "Label not modified since If-None-Match ETag"),
             @ApiResponse(responseCode = "401", description = "User is unauthorized"),
             @ApiResponse(responseCode = "404", description = "Label not found")
     })
     @GetMapping(ID)
-    public Label getLabel(
+    public ResponseEntity<Label> getLabel(
             @Parameter(description = "Id of Label to be found")
-            @PathVariable Long id) {
-        return labelRepository.findById(id)
+            @PathVariable Long id,
+            WebRequest request) {
+        if (isConditional(request) && request.checkNotModified(eTagService.getLabelETag(id))) {
+            return null;
+        }
+        final Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Label not found"));
+        return ResponseEntity.ok()
+                .eTag(eTagService.getLabelETag(label))
+                .body(label);
     }
 
     @Operation(summary = "Get list of all Labels")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of all Labels", content =
             @Content(mediaType = "application/json", schema = @Schema(implementation = Label.class))),
+            @ApiResponse(responseCode = "304", description = "Labels not modified since If-None-Match ETag"),
             @ApiResponse(responseCode = "401", description = "User is unauthorized")
     })
     @GetMapping
-    public List<Label> getAllLabels() {
-        return labelRepository.findAll();
+    public ResponseEntity<List<Label>> getAllLabels(WebRequest request) {
+        if (isConditional(request) && request.checkNotModified(eTagService.getLabelsETag())) {
+            return null;
+        }
+        final List<Label> labels = labelRepository.findAll();
+        return ResponseEntity.ok()
+                .eTag(eTagService.getLabelsETag(labels))
+                .body(labels);
     }
 
     @Operation(summary = "Create new Label")
@@ -116,4 +138,9 @@ public class LabelController {
             @PathVariable Long id) {
         labelService.deleteLabel(id);
     }
+
+    // plain GETs take the ETag from the loaded rows, only a conditional one has to query it up front
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(IF_NONE_MATCH) != null;
+    }
 }
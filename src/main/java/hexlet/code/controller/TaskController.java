@@ -1,10 +1,20 @@
 package hexlet.code.controller;
 
 import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskBatchDto;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskView;
+import hexlet.code.event.TaskEventBroadcaster;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.model.Task;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.search.TaskSearchIndex;
+import hexlet.code.service.ETagServiceImpl;
 import hexlet.code.service.TaskServiceImpl;
+import hexlet.code.service.TaskStatsServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,33 +22,48 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import static hexlet.code.controller.TaskController.TASK_PATH;
 import static hexlet.code.controller.UserController.ID;
+import static hexlet.code.utils.CursorCodec.decode;
+import static hexlet.code.utils.CursorCodec.encode;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 @RestController
 @RequestMapping("${base-url}" + TASK_PATH)
 public class TaskController {
 
     public static final String TASK_PATH = "/tasks";
-    private static final String ONLY_OWNER_BY_ID = """
-            @taskRepository.findById(#id).get().getAuthor().getEmail() == authentication.getName()
-        """;
+    public static final String BATCH_PATH = "/batch";
+    public static final String EVENTS_PATH = "/events";
+    public static final String SEARCH_PATH = "/search";
+    public static final String STATS_PATH = "/stats";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @Autowired
     private TaskRepository taskRepository;
@@ -46,26 +71,109 @@ public class TaskController {
     @Autowired
     private TaskServiceImpl taskService;
 
+    @Autowired
+    private ETagServiceImpl eTagService;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStatsServiceImpl taskStatsService;
+
+    @Value("${tasks.max-page-size:100}")
+    private int maxPageSize;
+
     @Operation(summary = "Get Task by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task found", content =
-            @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+            @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class))),
+            @ApiResponse(responseCode = "304", description = "Task not modified since If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @GetMapping(ID)
-    public Task getTask(
+    public ResponseEntity<TaskView> getTask(
             @Parameter(description = "Id of Task to be found", required = true)
-            @PathVariable Long id) {
-        return taskRepository.findById(id)
+            @PathVariable Long id,
+            WebRequest request) {
+        if (isConditional(request) && request.checkNotModified(eTagService.getTaskETag(id))) {
+            return null;
+        }
+        final TaskView task = taskRepository.findViewById(id)
                 .orElseThrow(() -> new NoSuchElementException("Task with such id not found"));
+        return ResponseEntity.ok()
+                .eTag(eTagService.getTaskETag(task))
+                .body(task);
     }
 
-    @Operation(summary = "Get list of all Tasks")
-    @ApiResponse(responseCode = "200", description = "List of all Tasks", content =
-    @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class)))
+    @Operation(summary = "Get a page of Tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of Tasks ordered by id, the cursor of the "
+                    + "next page is in " + NEXT_CURSOR_HEADER + " header", content =
+            @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since If-None-Match ETag")
+    })
     @GetMapping
-    public Iterable<Task> getAllTasks(@QuerydslPredicate(root = Task.class) Predicate predicate) {
-        return taskRepository.findAll(predicate);
+    public ResponseEntity<List<TaskView>> getAllTasks(
+            @QuerydslPredicate(root = Task.class) Predicate predicate,
+            @Parameter(description = "Cursor from previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by tasks.max-page-size")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        final int pageSize = pageSize(limit);
+        final Long afterId = decode(cursor);
+        if (isConditional(request)
+                && request.checkNotModified(eTagService.getTasksETag(predicate, afterId, pageSize))) {
+            return null;
+        }
+        final List<TaskView> tasks = taskRepository.findPage(predicate, afterId, pageSize);
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTagService.getTasksETag(tasks));
+        if (tasks.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, encode(tasks.get(tasks.size() - 1).getId()));
+        }
+        return response.body(tasks);
+    }
+
+    @Operation(summary = "Full-text search of Tasks by name and description")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of found Tasks, best matches first", content =
+            @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class))),
+            @ApiResponse(responseCode = "400", description = "Empty query or too deep page")
+    })
+    @GetMapping(SEARCH_PATH)
+    public List<TaskView> searchTasks(
+            @Parameter(description = "Words to search, all of them have to match", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Page number starting from 0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, capped by tasks.max-page-size")
+            @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        return taskRepository.findViewsByIds(taskSearchIndex.search(q, page, pageSize(limit)));
+    }
+
+    @Operation(summary = "Counts of Tasks by status and executor, by label and by creation day")
+    @ApiResponse(responseCode = "200", description = "Statistics of Tasks matching the filter", content =
+    @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStats.class)))
+    @GetMapping(STATS_PATH)
+    public TaskStats getTaskStats(@QuerydslPredicate(root = Task.class) Predicate predicate) {
+        return taskStatsService.getStats(predicate);
+    }
+
+    @Operation(summary = "Stream of Task changes")
+    @ApiResponse(responseCode = "200", description = "Server-Sent Events named created, updated and deleted, "
+            + "created and updated carry the Task view, deleted carries the id. "
+            + "A task that stops matching the filter comes as deleted")
+    @GetMapping(path = EVENTS_PATH, produces = TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@QuerydslPredicate(root = Task.class) Predicate predicate) {
+        return taskEventBroadcaster.subscribe(predicate);
     }
 
     @Operation(summary = "Creating new Task")
@@ -83,12 +191,30 @@ public class TaskController {
         return taskService.createTask(taskDto);
     }
 
+    @Operation(summary = "Creating Tasks in bulk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Tasks created", content =
+            @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+            @ApiResponse(responseCode = "401", description = "User is unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Referenced status, executor or label not found"),
+            @ApiResponse(responseCode = "422", description = "Data validation failed")
+    })
+    @PostMapping(BATCH_PATH)
+    @ResponseStatus(CREATED)
+    public List<Task> createTasks(
+            @Parameter(description = "Data for creating Tasks", required = true)
+            @RequestBody @Valid TaskBatchDto taskBatchDto) {
+        return taskService.createTasks(taskBatchDto.getTasks());
+    }
+
     @Operation(summary = "Update Task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated", content =
             @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
             @ApiResponse(responseCode = "401", description = "User is unauthorized"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified since the given version"),
+            @ApiResponse(responseCode = "412", description = "Task version doesn't match If-Match"),
             @ApiResponse(responseCode = "422", description = "Data validation failed")
     })
     @PutMapping(ID)
@@ -96,23 +222,82 @@ public class TaskController {
             @Parameter(description = "Id of Task to be updated", required = true)
             @PathVariable Long id,
             @Parameter(description = "Data for updating Task", required = true)
-            @RequestBody @Valid TaskDto taskDto
+            @RequestBody @Valid TaskDto taskDto,
+            @Parameter(description = "Version of Task the update is based on")
+            @RequestHeader(value = IF_MATCH, required = false) String ifMatch
     ) {
+        checkIfMatch(id, ifMatch).ifPresent(taskDto::setVersion);
         return taskService.updateTask(id, taskDto);
     }
 
+    @Operation(summary = "Partially update Task, only given fields are changed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task updated", content =
+            @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+            @ApiResponse(responseCode = "401", description = "User is unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Task or referenced entity not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified since the given version"),
+            @ApiResponse(responseCode = "412", description = "Task version doesn't match If-Match"),
+            @ApiResponse(responseCode = "422", description = "Data validation failed")
+    })
+    @PatchMapping(ID)
+    public Task patchTask(
+            @Parameter(description = "Id of Task to be updated", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Fields of Task to be changed", required = true)
+            @RequestBody @Valid TaskPatchDto taskPatchDto,
+            @Parameter(description = "Version of Task the update is based on")
+            @RequestHeader(value = IF_MATCH, required = false) String ifMatch
+    ) {
+        checkIfMatch(id, ifMatch).ifPresent(taskPatchDto::setVersion);
+        return taskService.patchTask(id, taskPatchDto);
+    }
+
     @Operation(summary = "Delete task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task deleted"),
             @ApiResponse(responseCode = "401", description = "User is unauthorized"),
-            @ApiResponse(responseCode = "403", description = "Operation available only for owner")
+            @ApiResponse(responseCode = "403", description = "Operation available only for owner"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @DeleteMapping(ID)
-    @PreAuthorize(ONLY_OWNER_BY_ID)
     public void deleteTask(
             @Parameter(description = "Id of Task to be deleted")
             @PathVariable Long id
     ) {
-        taskRepository.deleteById(id);
+        taskService.deleteTask(id);
+    }
+
+    // plain GETs take the ETag from the loaded tasks, only a conditional one has to query it up front
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(IF_NONE_MATCH) != null;
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    private Optional<Long> checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return Optional.empty();
+        }
+        final long version = parseVersion(ifMatch);
+        final long current = taskRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+        if (current != version) {
+            throw new PreconditionFailedException("Task version is " + current + ", not " + version);
+        }
+        return Optional.of(version);
+    }
+
+    // If-Match carries the ETag of GET /tasks/{id}, the task version and a hash of the names
+    // it refers to, e.g. "3-9f86d0..."; a bare version like "3" or W/"3" is accepted too
+    private static long parseVersion(String ifMatch) {
+        final String tag = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "");
+        try {
+            return Long.parseLong(tag.split("-", 2)[0]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid If-Match version: " + ifMatch, e);
+        }
     }
 }
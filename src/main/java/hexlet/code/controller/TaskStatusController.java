@@ -3,8 +3,10 @@ package hexlet.code.controller;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.ETagServiceImpl;
 import hexlet.code.service.TaskStatusServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,12 +16,14 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
 
 import static hexlet.code.controller.TaskStatusController.TASK_STATUS_PATH;
 import static hexlet.code.controller.UserController.ID;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @RestController
@@ -34,9 +38,18 @@ public class TaskStatusController {
     @Autowired
     private TaskStatusRepository statusRepository;
 
+    @Autowired
+    private ETagServiceImpl eTagService;
+
     @GetMapping(ID)
-    public TaskStatus getTaskStatus(@PathVariable Long id) {
-        return statusRepository.getById(id);
+    public ResponseEntity<TaskStatus> getTaskStatus(@PathVariable Long id, WebRequest request) {
+        if (isConditional(request) && request.checkNotModified(eTagService.getTaskStatusETag(id))) {
+            return null;
+        }
+        final TaskStatus status = statusRepository.getById(id);
+        return ResponseEntity.ok()
+                .eTag(eTagService.getTaskStatusETag(status))
+                .body(status);
     }
 
     @PutMapping(ID)
@@ -53,8 +66,14 @@ public class TaskStatusController {
     }
 
     @GetMapping
-    public List<TaskStatus> getStatuses() {
-        return statusRepository.findAll();
+    public ResponseEntity<List<TaskStatus>> getStatuses(WebRequest request) {
+        if (isConditional(request) && request.checkNotModified(eTagService.getTaskStatusesETag())) {
+            return null;
+        }
+        final List<TaskStatus> statuses = statusRepository.findAll();
+        return ResponseEntity.ok()
+                .eTag(eTagService.getTaskStatusesETag(statuses))
+                .body(statuses);
     }
 
     @PostMapping
@@ -62,4 +81,9 @@ public class TaskStatusController {
     public TaskStatus createTaskStatus(@RequestBody @Valid TaskStatusDto taskStatusDto) {
         return taskStatusService.createStatus(taskStatusDto);
     }
+
+    // plain GETs take the ETag from the loaded rows, only a conditional one has to query it up front
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(IF_NONE_MATCH) != null;
+    }
 }
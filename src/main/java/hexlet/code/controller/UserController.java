@@ -36,7 +36,7 @@ public class UserController {
     public static final String USER_CONTROLLER_PATH = "/users";
     public static final String ID = "/{id}";
     private static final String ONLY_OWNER_BY_ID = """
-            @userRepository.findById(#id).get().getEmail() == authentication.getName()
+            @ownershipChecker.isSameUser(#id, authentication)
         """;
 
     @Autowired
@@ -0,0 +1,17 @@
+package hexlet.code.dto;
+
+import lombok.Value;
+
+@Value
+public class SqlStatementSummary {
+
+    String sql;
+
+    long count;
+
+    long totalMs;
+
+    double meanMs;
+
+    long maxMs;
+}
@@ -0,0 +1,22 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskBatchDto {
+
+    public static final int MAX_TASKS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_TASKS)
+    private List<@Valid TaskDto> tasks;
+}
@@ -25,4 +25,11 @@ public class TaskDto {
     private long taskStatusId;
 
     private Set<Long> labelIds;
+
+    // version the client has seen, a stale one makes the update fail with 409
+    private Long version;
+
+    public TaskDto(String name, String description, long executorId, long taskStatusId, Set<Long> labelIds) {
+        this(name, description, executorId, taskStatusId, labelIds, null);
+    }
 }
@@ -0,0 +1,31 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Pattern;
+import java.util.Set;
+
+/**
+ * Partial update of a Task, null fields are left as they are.
+ * executorId 0 removes the executor, as in {@link TaskDto}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPatchDto {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    private String name;
+
+    private String description;
+
+    private Long executorId;
+
+    private Long taskStatusId;
+
+    private Set<Long> labelIds;
+
+    private Long version;
+}
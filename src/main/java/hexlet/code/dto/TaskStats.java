@@ -0,0 +1,38 @@
+package hexlet.code.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Value
+public class TaskStats {
+
+    List<StatusExecutorCount> byStatusAndExecutor;
+
+    List<LabelCount> byLabel;
+
+    List<DayCount> createdPerDay;
+
+    @Value
+    public static class StatusExecutorCount {
+        Long statusId;
+        String statusName;
+        // null for tasks without executor
+        Long executorId;
+        long count;
+    }
+
+    @Value
+    public static class LabelCount {
+        Long labelId;
+        String labelName;
+        long count;
+    }
+
+    @Value
+    public static class DayCount {
+        LocalDate day;
+        long count;
+    }
+}
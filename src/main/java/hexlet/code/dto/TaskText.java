@@ -0,0 +1,13 @@
+package hexlet.code.dto;
+
+import lombok.Value;
+
+@Value
+public class TaskText {
+
+    Long id;
+
+    String name;
+
+    String description;
+}
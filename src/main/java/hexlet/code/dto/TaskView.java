@@ -0,0 +1,51 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
+
+import java.util.Date;
+import java.util.List;
+
+@Value
+@AllArgsConstructor
+public class TaskView {
+
+    long id;
+
+    Long version;
+
+    String name;
+
+    String description;
+
+    Date createdAt;
+
+    StatusRef taskStatus;
+
+    UserRef author;
+
+    UserRef executor;
+
+    @With
+    List<LabelRef> labels;
+
+    @Value
+    public static class StatusRef {
+        Long id;
+        String name;
+    }
+
+    @Value
+    public static class UserRef {
+        Long id;
+        String firstName;
+        String lastName;
+    }
+
+    @Value
+    public static class LabelRef {
+        Long id;
+        String name;
+    }
+}
@@ -0,0 +1,15 @@
+package hexlet.code.event;
+
+import lombok.Value;
+
+@Value
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    Type type;
+
+    long taskId;
+}
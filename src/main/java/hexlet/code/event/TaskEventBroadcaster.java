@@ -0,0 +1,159 @@
+package hexlet.code.event;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.QTask;
+import hexlet.code.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static hexlet.code.event.TaskChangedEvent.Type.CREATED;
+import static hexlet.code.event.TaskChangedEvent.Type.DELETED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Pushes committed Task changes to Server-Sent Events subscribers.
+ * Every change is resolved once: one view query, plus one exists query per distinct filter.
+ * Each subscriber has a bounded buffer drained by a small sender pool,
+ * a subscriber that falls behind is disconnected and is expected to reload the list.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    private static final QTask TASK = QTask.task;
+
+    private final TaskRepository taskRepository;
+    private final int bufferSize;
+    private final long timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService fanOut;
+    private final ExecutorService senders;
+
+    public TaskEventBroadcaster(final TaskRepository taskRepository,
+                                final MeterRegistry meterRegistry,
+                                @Value("${tasks.events.buffer-size:256}") final int bufferSize,
+                                @Value("${tasks.events.timeout:1800000}") final long timeout,
+                                @Value("${tasks.events.sender-threads:4}") final int senderThreads) {
+        this.taskRepository = taskRepository;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        // a single fan-out thread keeps events in commit order for every subscriber
+        this.fanOut = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("task-events-"));
+        this.senders = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("task-events-send-"));
+        meterRegistry.gaugeCollectionSize("tasks.events.subscribers", Tags.empty(), subscribers);
+    }
+
+    public SseEmitter subscribe(final Predicate predicate) {
+        final SseEmitter emitter = new SseEmitter(timeout);
+        final Subscriber subscriber = new Subscriber(emitter, predicate, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    // fallbackExecution covers writes made outside of a transaction, they are committed already
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(final TaskChangedEvent event) {
+        if (!subscribers.isEmpty()) {
+            fanOut.execute(() -> broadcast(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void broadcast(final TaskChangedEvent event) {
+        final Optional<TaskView> view = event.getType() == DELETED
+                ? Optional.empty()
+                : taskRepository.findViewById(event.getTaskId());
+        final Map<Predicate, Boolean> matches = new HashMap<>();
+
+        for (Subscriber subscriber : subscribers) {
+            final boolean matched = view.isPresent()
+                    && matches.computeIfAbsent(subscriber.predicate, predicate -> matches(predicate, event));
+            if (!matched && event.getType() == CREATED) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(toMessage(event, matched ? view.get() : null))) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            } else if (subscriber.draining.compareAndSet(false, true)) {
+                senders.execute(subscriber::drain);
+            }
+        }
+    }
+
+    private boolean matches(final Predicate predicate, final TaskChangedEvent event) {
+        return predicate == null
+                || taskRepository.exists(ExpressionUtils.allOf(predicate, TASK.id.eq(event.getTaskId())));
+    }
+
+    // a task that is gone or no longer matches the subscriber's filter comes as deleted
+    private static SseEventBuilder toMessage(final TaskChangedEvent event, final TaskView view) {
+        if (view == null) {
+            return SseEmitter.event()
+                    .name(DELETED.name().toLowerCase())
+                    .data(Map.of("id", event.getTaskId()), APPLICATION_JSON);
+        }
+        return SseEmitter.event()
+                .name(event.getType().name().toLowerCase())
+                .data(view, APPLICATION_JSON);
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Predicate predicate;
+        private final BlockingQueue<SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(final SseEmitter emitter, final Predicate predicate, final int bufferSize) {
+            this.emitter = emitter;
+            this.predicate = predicate;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void drain() {
+            do {
+                try {
+                    SseEventBuilder message;
+                    while ((message = buffer.poll()) != null) {
+                        emitter.send(message);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    buffer.clear();
+                    emitter.completeWithError(e);
+                } finally {
+                    draining.set(false);
+                }
+                // an event offered right after the last poll must not be left behind
+            } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -2,7 +2,9 @@ package hexlet.code.filter;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.security.UserPrincipal;
 import hexlet.code.dto.LoginDto;
+import hexlet.code.exception.TooManyRequestsException;
 import hexlet.code.utils.JWTHelper;
 import java.io.IOException;
 import java.util.Map;
@@ -15,10 +17,11 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
@@ -35,14 +38,22 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
     @Override
     public Authentication attemptAuthentication(final HttpServletRequest request,
-                                                final HttpServletResponse response) throws AuthenticationException {
+                                                final HttpServletResponse response)
+            throws AuthenticationException, IOException {
         final LoginDto loginData = getLoginData(request);
         final UsernamePasswordAuthenticationToken authRequest = new UsernamePasswordAuthenticationToken(
                 loginData.getEmail(),
                 loginData.getPassword()
         );
         setDetails(request, authRequest);
-        return getAuthenticationManager().authenticate(authRequest);
+        try {
+            return getAuthenticationManager().authenticate(authRequest);
+        } catch (TooManyRequestsException e) {
+            // null tells the filter the response is already written
+            response.setStatus(TOO_MANY_REQUESTS.value());
+            response.getWriter().print(e.getMessage());
+            return null;
+        }
     }
 
     private LoginDto getLoginData(final HttpServletRequest request) throws AuthenticationException {
@@ -63,8 +74,8 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                             final HttpServletResponse response,
                                             final FilterChain chain,
                                             final Authentication authResult) throws IOException {
-        final UserDetails user = (UserDetails) authResult.getPrincipal();
-        final String token = jwtHelper.expiring(Map.of("email", user.getUsername()));
+        final UserPrincipal user = (UserPrincipal) authResult.getPrincipal();
+        final String token = jwtHelper.expiring(Map.of("email", user.getUsername(), "id", user.getId()));
 
         response.getWriter().print(token);
     }
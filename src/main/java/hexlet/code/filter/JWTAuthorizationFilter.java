@@ -1,7 +1,9 @@
 package hexlet.code.filter;
 
-import hexlet.code.utils.JWTHelper;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.utils.JWTVerificationCache;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -22,12 +24,12 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
     private static final String BEARER = "Bearer";
 
     private final RequestMatcher publicUrls;
-    private final JWTHelper jwtHelper;
+    private final JWTVerificationCache verificationCache;
 
     public JWTAuthorizationFilter(final RequestMatcher publicUrls,
-                                  final JWTHelper jwtHelper) {
+                                  final JWTVerificationCache verificationCache) {
         this.publicUrls = publicUrls;
-        this.jwtHelper = jwtHelper;
+        this.verificationCache = verificationCache;
     }
 
     @Override
@@ -46,9 +48,8 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
             final UsernamePasswordAuthenticationToken authToken = Optional.ofNullable(request.getHeader(AUTHORIZATION))
                     .map(header -> header.replaceFirst("^" + BEARER, ""))
                     .map(String::trim)
-                    .map(jwtHelper::verify)
-                    .map(claims -> claims.get("email"))
-                    .map(Object::toString)
+                    .map(verificationCache::verify)
+                    .filter(claims -> claims.get("email") != null)
                     .map(this::buildAuthToken)
                     .orElseThrow();
 
@@ -57,9 +58,16 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
         }
     }
 
-    private UsernamePasswordAuthenticationToken buildAuthToken(final String email) {
+    private UsernamePasswordAuthenticationToken buildAuthToken(final Map<String, Object> claims) {
+        final Object id = claims.get("id");
+        final UserPrincipal principal = new UserPrincipal(
+                id instanceof Number ? ((Number) id).longValue() : null,
+                claims.get("email").toString(),
+                "",
+                DEFAULT_AUTHORITIES
+        );
         return new UsernamePasswordAuthenticationToken(
-                email,
+                principal,
                 null,
                 DEFAULT_AUTHORITIES
         );
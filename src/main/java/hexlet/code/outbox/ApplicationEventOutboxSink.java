@@ -0,0 +1,25 @@
+package hexlet.code.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink, hands every change to in-process {@code @EventListener}s.
+ * Another destination can be plugged in by declaring a {@code @Primary} {@link OutboxSink}.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventOutboxSink(final ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(final List<OutboxChange> changes) {
+        changes.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.outbox;
+
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+public class OutboxChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    long id;
+
+    // simple name of the entity class, e.g. Task
+    String aggregateType;
+
+    long aggregateId;
+
+    Type type;
+
+    Date createdAt;
+}
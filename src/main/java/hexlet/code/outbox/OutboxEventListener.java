@@ -0,0 +1,141 @@
+package hexlet.code.outbox;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.outbox.OutboxChange.Type;
+import lombok.Value;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static hexlet.code.outbox.OutboxChange.Type.CREATED;
+import static hexlet.code.outbox.OutboxChange.Type.DELETED;
+import static hexlet.code.outbox.OutboxChange.Type.UPDATED;
+
+/**
+ * Appends a row to the outbox table for every flushed change of a tracked entity.
+ * Changes are collected per session and written by one JDBC batch right before commit,
+ * inside the same transaction, so they are stored if and only if the change itself is.
+ */
+@Component
+public class OutboxEventListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final Set<Class<?>> TRACKED = Set.of(Task.class, Label.class, TaskStatus.class, User.class);
+
+    private static final String INSERT = """
+            INSERT INTO outbox (aggregate_type, aggregate_id, change_type, created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<SessionImplementor, Map<Aggregate, Type>> pending = new ConcurrentHashMap<>();
+
+    public OutboxEventListener(final EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        final EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        append(event.getSession(), event.getEntity().getClass(), event.getId(), CREATED);
+    }
+
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        append(event.getSession(), event.getEntity().getClass(), event.getId(), UPDATED);
+    }
+
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        append(event.getSession(), event.getEntity().getClass(), event.getId(), DELETED);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(final EntityPersister persister) {
+        return false;
+    }
+
+    // bulk statements skip entity events, so the code running one reports its deletes here
+    public void recordDelete(final EntityManager entityManager, final Class<?> entityType, final long id) {
+        append(entityManager.unwrap(EventSource.class), entityType, id, DELETED);
+    }
+
+    private void append(final EventSource session, final Class<?> entityType, final Serializable id,
+                        final Type type) {
+        if (!TRACKED.contains(entityType)) {
+            return;
+        }
+        pending.computeIfAbsent(session, this::startCollecting)
+                // created and then updated is still created, anything followed by delete is deleted
+                .merge(new Aggregate(entityType.getSimpleName(), (Long) id), type,
+                        (previous, next) -> previous == CREATED && next == UPDATED ? previous : next);
+    }
+
+    private Map<Aggregate, Type> startCollecting(final SessionImplementor session) {
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+        session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(session));
+        return new LinkedHashMap<>();
+    }
+
+    private void write(final SessionImplementor session) {
+        final Map<Aggregate, Type> changes = pending.remove(session);
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                final Timestamp now = new Timestamp(System.currentTimeMillis());
+                for (Map.Entry<Aggregate, Type> change : changes.entrySet()) {
+                    statement.setString(1, change.getKey().getType());
+                    statement.setLong(2, change.getKey().getId());
+                    statement.setString(3, change.getValue().name());
+                    statement.setTimestamp(4, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Value
+    private static class Aggregate {
+        String type;
+        long id;
+    }
+}
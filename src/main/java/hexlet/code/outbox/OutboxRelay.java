@@ -0,0 +1,69 @@
+package hexlet.code.outbox;
+
+import hexlet.code.outbox.OutboxChange.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the outbox in id order, one batch per transaction: a batch is removed
+ * only after the sink accepted it. Expects a single relaying instance per database.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final String SELECT_BATCH = """
+            SELECT id, aggregate_type, aggregate_id, change_type, created_at
+            FROM outbox ORDER BY id LIMIT ?
+            """;
+    private static final String DELETE_CHANGE = "DELETE FROM outbox WHERE id = ?";
+
+    private static final RowMapper<OutboxChange> CHANGE_MAPPER = (rs, rowNum) -> new OutboxChange(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getLong("aggregate_id"),
+            Type.valueOf(rs.getString("change_type")),
+            rs.getTimestamp("created_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int batchSize;
+
+    public OutboxRelay(final JdbcTemplate jdbcTemplate,
+                       final TransactionTemplate transactionTemplate,
+                       final OutboxSink sink,
+                       @Value("${outbox.relay.batch-size:500}") final int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.delay:1000}",
+            initialDelayString = "${outbox.relay.initial-delay:1000}")
+    public void relay() {
+        boolean full;
+        do {
+            // a full batch means there may be more waiting
+            full = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } while (full);
+    }
+
+    private boolean relayBatch() {
+        final List<OutboxChange> changes = jdbcTemplate.query(SELECT_BATCH, CHANGE_MAPPER, batchSize);
+        if (changes.isEmpty()) {
+            return false;
+        }
+        sink.publish(changes);
+        // ids are taken before commit, a lower one may show up after the select, so no range delete
+        jdbcTemplate.batchUpdate(DELETE_CHANGE, changes, changes.size(),
+                (ps, change) -> ps.setLong(1, change.getId()));
+        return changes.size() == batchSize;
+    }
+}
@@ -0,0 +1,11 @@
+package hexlet.code.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox changes. Throwing rolls the batch back,
+ * so it is delivered again on the next run: consumers must tolerate duplicates.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxChange> changes);
+}
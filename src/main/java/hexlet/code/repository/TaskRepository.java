@@ -1,18 +1,33 @@
 package hexlet.code.repository;
 
-import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
-import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task>,
+        TaskRepositoryCustom {
     void deleteById(long id);
-    Optional<Task> findFirstByAuthorIdOrExecutorId(long authorId, long executorId);
-    Optional<Task> findByTaskStatusId(long id);
-    List<Task> findByLabels(Label label);
+
+    @EntityGraph(attributePaths = {"taskStatus", "author", "executor", "labels"})
+    Optional<Task> findDetailedById(long id);
+
+    @Query("select t.version from Task t where t.id = ?1")
+    Optional<Long> findVersionById(long id);
+
+    // a bulk delete, checks the author in the same statement and skips entity listeners
+    @Modifying
+    @Query("delete from Task t where t.id = ?1 and t.author.id = ?2")
+    int deleteByIdAndAuthorId(long id, long authorId);
+
+    boolean existsByAuthorId(long authorId);
+    boolean existsByExecutorId(long executorId);
+    boolean existsByTaskStatusId(long taskStatusId);
+    boolean existsByLabelsId(long labelId);
 }
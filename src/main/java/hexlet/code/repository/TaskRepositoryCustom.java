@@ -0,0 +1,30 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskText;
+import hexlet.code.dto.TaskView;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset page of tasks matching the predicate, ordered by id.
+     * Only rows with id greater than {@code afterId} are read, so the cost
+     * of a page doesn't depend on how deep into the list the client is.
+     */
+    List<TaskView> findPage(Predicate predicate, Long afterId, int limit);
+
+    Optional<TaskView> findViewById(long id);
+
+    // views of the given tasks in the order of ids, missing ones are skipped
+    List<TaskView> findViewsByIds(List<Long> ids);
+
+    // only the columns full-text search indexes, keyset paged like findPage
+    List<TaskText> findTexts(Predicate predicate, Long afterId, int limit);
+
+    // counts of matching tasks grouped by status and executor, by label and by creation day
+    TaskStats findStats(Predicate predicate);
+}
@@ -0,0 +1,203 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.MappingProjection;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskStats.DayCount;
+import hexlet.code.dto.TaskStats.LabelCount;
+import hexlet.code.dto.TaskStats.StatusExecutorCount;
+import hexlet.code.dto.TaskText;
+import hexlet.code.dto.TaskView;
+import hexlet.code.dto.TaskView.LabelRef;
+import hexlet.code.dto.TaskView.StatusRef;
+import hexlet.code.dto.TaskView.UserRef;
+import hexlet.code.model.QLabel;
+import hexlet.code.model.QTask;
+import hexlet.code.model.QTaskStatus;
+import hexlet.code.model.QUser;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+@Transactional(readOnly = true)
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final QTask TASK = QTask.task;
+    private static final QTaskStatus STATUS = new QTaskStatus("status");
+    private static final QUser AUTHOR = new QUser("author");
+    private static final QUser EXECUTOR = new QUser("executor");
+    private static final QLabel LABEL = QLabel.label;
+    // keeps the IN list of the label query well below bind parameter limits, e.g. 32767 of PostgreSQL
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findPage(Predicate predicate, Long afterId, int limit) {
+        final List<TaskView> views = selectViews()
+                .where(ExpressionUtils.allOf(predicate, afterId == null ? null : TASK.id.gt(afterId)))
+                .orderBy(TASK.id.asc())
+                .limit(limit)
+                .fetch();
+        return withLabels(views);
+    }
+
+    @Override
+    public Optional<TaskView> findViewById(long id) {
+        final List<TaskView> views = selectViews()
+                .where(TASK.id.eq(id))
+                .fetch();
+        return withLabels(views).stream().findFirst();
+    }
+
+    @Override
+    public List<TaskView> findViewsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, TaskView> views = withLabels(selectViews().where(TASK.id.in(ids)).fetch())
+                .stream()
+                .collect(toMap(TaskView::getId, Function.identity()));
+        return ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
+    @Override
+    public List<TaskText> findTexts(Predicate predicate, Long afterId, int limit) {
+        return new JPAQuery<Void>(entityManager)
+                .select(Projections.constructor(TaskText.class, TASK.id, TASK.name, TASK.description))
+                .from(TASK)
+                .where(ExpressionUtils.allOf(predicate, afterId == null ? null : TASK.id.gt(afterId)))
+                .orderBy(TASK.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public TaskStats findStats(Predicate predicate) {
+        final List<StatusExecutorCount> byStatusAndExecutor = new JPAQuery<Void>(entityManager)
+                .select(STATUS.id, STATUS.name, EXECUTOR.id, TASK.count())
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .leftJoin(TASK.executor, EXECUTOR)
+                .where(predicate)
+                .groupBy(STATUS.id, STATUS.name, EXECUTOR.id)
+                .fetch()
+                .stream()
+                .map(row -> new StatusExecutorCount(row.get(STATUS.id), row.get(STATUS.name),
+                        row.get(EXECUTOR.id), row.get(TASK.count())))
+                .collect(toList());
+
+        final List<LabelCount> byLabel = new JPAQuery<Void>(entityManager)
+                .select(LABEL.id, LABEL.name, TASK.count())
+                .from(TASK)
+                .join(TASK.labels, LABEL)
+                .where(predicate)
+                .groupBy(LABEL.id, LABEL.name)
+                .fetch()
+                .stream()
+                .map(row -> new LabelCount(row.get(LABEL.id), row.get(LABEL.name), row.get(TASK.count())))
+                .collect(toList());
+
+        final NumberExpression<Integer> year = TASK.createdAt.year();
+        final NumberExpression<Integer> month = TASK.createdAt.month();
+        final NumberExpression<Integer> day = TASK.createdAt.dayOfMonth();
+        final List<DayCount> createdPerDay = new JPAQuery<Void>(entityManager)
+                .select(year, month, day, TASK.count())
+                .from(TASK)
+                .where(predicate)
+                .groupBy(year, month, day)
+                .orderBy(year.asc(), month.asc(), day.asc())
+                .fetch()
+                .stream()
+                .map(row -> new DayCount(LocalDate.of(row.get(year), row.get(month), row.get(day)),
+                        row.get(TASK.count())))
+                .collect(toList());
+
+        return new TaskStats(byStatusAndExecutor, byLabel, createdPerDay);
+    }
+
+    private JPAQuery<TaskView> selectViews() {
+        return new JPAQuery<Void>(entityManager)
+                .select(new TaskViewProjection())
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .join(TASK.author, AUTHOR)
+                .leftJoin(TASK.executor, EXECUTOR);
+    }
+
+    private static final class TaskViewProjection extends MappingProjection<TaskView> {
+
+        TaskViewProjection() {
+            super(TaskView.class, TASK.id, TASK.version, TASK.name, TASK.description, TASK.createdAt,
+                    STATUS.id, STATUS.name,
+                    AUTHOR.id, AUTHOR.firstName, AUTHOR.lastName,
+                    EXECUTOR.id, EXECUTOR.firstName, EXECUTOR.lastName);
+        }
+
+        @Override
+        protected TaskView map(Tuple row) {
+            // executor is left joined, so a task without one has nulls in its columns
+            final Long executorId = row.get(EXECUTOR.id);
+            return new TaskView(
+                    row.get(TASK.id),
+                    row.get(TASK.version),
+                    row.get(TASK.name),
+                    row.get(TASK.description),
+                    row.get(TASK.createdAt),
+                    new StatusRef(row.get(STATUS.id), row.get(STATUS.name)),
+                    new UserRef(row.get(AUTHOR.id), row.get(AUTHOR.firstName), row.get(AUTHOR.lastName)),
+                    executorId == null ? null
+                            : new UserRef(executorId, row.get(EXECUTOR.firstName), row.get(EXECUTOR.lastName)),
+                    List.of());
+        }
+    }
+
+    // Labels are a collection, joining them into the page query would multiply rows
+    // and break the limit, so they are read for the whole page by one extra query per chunk of ids
+    private List<TaskView> withLabels(List<TaskView> views) {
+        if (views.isEmpty()) {
+            return views;
+        }
+        final List<Long> ids = views.stream()
+                .map(TaskView::getId)
+                .collect(toList());
+        final List<Tuple> rows = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            rows.addAll(new JPAQuery<Void>(entityManager)
+                    .select(TASK.id, LABEL.id, LABEL.name)
+                    .from(TASK)
+                    .join(TASK.labels, LABEL)
+                    .where(TASK.id.in(ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()))))
+                    .fetch());
+        }
+        final Map<Long, List<LabelRef>> labelsByTask = rows.stream()
+                .collect(groupingBy(
+                        row -> row.get(TASK.id),
+                        mapping(row -> new LabelRef(row.get(LABEL.id), row.get(LABEL.name)), toList())));
+        return views.stream()
+                .map(view -> view.withLabels(labelsByTask.getOrDefault(view.getId(), List.of())))
+                .collect(toList());
+    }
+}
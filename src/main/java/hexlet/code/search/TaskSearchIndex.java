@@ -0,0 +1,174 @@
+package hexlet.code.search;
+
+import hexlet.code.dto.TaskText;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.outbox.OutboxChange;
+import hexlet.code.repository.TaskRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static hexlet.code.outbox.OutboxChange.Type.DELETED;
+import static org.apache.lucene.index.IndexWriterConfig.OpenMode.CREATE;
+
+/**
+ * In-process Lucene index over task name and description.
+ * It is rebuilt from the database on startup and then follows task changes relayed
+ * from the outbox, so searches stay off the database except for loading the found page.
+ *
+ * <p>Changes arrive only from the {@link hexlet.code.outbox.OutboxRelay} of this instance, and the
+ * relay is a single consumer that deletes what it relayed. With more than one application instance
+ * each index sees only the changes its own relay picked up, until the next restart rebuilds it.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    // a match in the name ranks higher than the same match in the description
+    private static final Map<String, Float> WEIGHTS = Map.of(NAME, 2f, DESCRIPTION, 1f);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MAX_HITS = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    // without tasks.search.directory the index lives in memory, it is rebuilt on every start anyway
+    public TaskSearchIndex(final TaskRepository taskRepository,
+                           @Value("${tasks.search.directory:}") final String directory) throws IOException {
+        this.taskRepository = taskRepository;
+        this.directory = directory.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(directory));
+        this.writer = new IndexWriter(this.directory, new IndexWriterConfig(analyzer).setOpenMode(CREATE));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        try {
+            writer.deleteAll();
+            Long afterId = null;
+            List<TaskText> texts;
+            do {
+                texts = taskRepository.findTexts(null, afterId, REBUILD_BATCH_SIZE);
+                for (TaskText text : texts) {
+                    writer.addDocument(toDocument(text));
+                }
+                afterId = texts.isEmpty() ? afterId : texts.get(texts.size() - 1).getId();
+            } while (texts.size() == REBUILD_BATCH_SIZE);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // failing here fails the relayed outbox batch, so the change is retried
+    @EventListener
+    public synchronized void onChange(final OutboxChange change) throws IOException {
+        if (!Task.class.getSimpleName().equals(change.getAggregateType())) {
+            return;
+        }
+        final long id = change.getAggregateId();
+        final Term idTerm = new Term(ID, String.valueOf(id));
+        final List<TaskText> texts = change.getType() == DELETED
+                ? List.of()
+                : taskRepository.findTexts(QTask.task.id.eq(id), null, 1);
+        if (texts.isEmpty()) {
+            writer.deleteDocuments(idTerm);
+        } else {
+            writer.updateDocument(idTerm, toDocument(texts.get(0)));
+        }
+        changed.set(true);
+    }
+
+    // reopening a searcher per change would be wasteful, changes become visible in batches
+    @Scheduled(fixedDelayString = "${tasks.search.refresh-delay:500}")
+    public void refresh() throws IOException {
+        if (changed.getAndSet(false)) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    /**
+     * Ids of tasks matching the text, best first. All words have to match,
+     * quotes, - and * work as in web search engines.
+     */
+    public List<Long> search(final String text, final int page, final int size) {
+        // in long, so a huge page can't overflow past the check
+        final long hits = (page + 1L) * size;
+        if (page < 0 || hits > MAX_HITS) {
+            throw new BadRequestException("Page must be between 0 and " + (MAX_HITS / size - 1));
+        }
+        final SimpleQueryParser parser = new SimpleQueryParser(analyzer, WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        try {
+            final IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final TopDocs top = searcher.search(parser.parse(text), (int) hits);
+                final List<Long> ids = new ArrayList<>();
+                for (int i = page * size; i < top.scoreDocs.length; i++) {
+                    final ScoreDoc scoreDoc = top.scoreDocs[i];
+                    ids.add(Long.parseLong(searcher.doc(scoreDoc.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private static Document toDocument(final TaskText text) {
+        final Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(text.getId()), Field.Store.YES));
+        document.add(new TextField(NAME, text.getName(), Field.Store.NO));
+        if (text.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, text.getDescription(), Field.Store.NO));
+        }
+        return document;
+    }
+}
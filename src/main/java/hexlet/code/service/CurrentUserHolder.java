@@ -0,0 +1,51 @@
+package hexlet.code.service;
+
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Current user of the request, loaded at most once per request.
+ */
+@Component
+@RequestScope
+public class CurrentUserHolder {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    public User getUser() {
+        if (user == null) {
+            user = getPrincipalId()
+                    .flatMap(userRepository::findById)
+                    .or(() -> userRepository.findByEmail(getAuthentication().getName()))
+                    .orElseThrow(() -> new NoSuchElementException("Current user not found"));
+        }
+        return user;
+    }
+
+    public Long getUserId() {
+        return getPrincipalId().orElseGet(() -> getUser().getId());
+    }
+
+    private Optional<Long> getPrincipalId() {
+        return Optional.of(getAuthentication().getPrincipal())
+                .filter(UserPrincipal.class::isInstance)
+                .map(UserPrincipal.class::cast)
+                .map(UserPrincipal::getId);
+    }
+
+    private Authentication getAuthentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
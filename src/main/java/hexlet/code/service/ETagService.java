@@ -0,0 +1,23 @@
+package hexlet.code.service;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+
+import java.util.List;
+
+public interface ETagService {
+    String getTasksETag(Predicate predicate, Long afterId, int limit);
+    String getTasksETag(List<TaskView> page);
+    String getTaskETag(long id);
+    String getTaskETag(TaskView task);
+    String getLabelsETag();
+    String getLabelsETag(List<Label> labels);
+    String getLabelETag(long id);
+    String getLabelETag(Label label);
+    String getTaskStatusesETag();
+    String getTaskStatusesETag(List<TaskStatus> statuses);
+    String getTaskStatusETag(long id);
+    String getTaskStatusETag(TaskStatus status);
+}
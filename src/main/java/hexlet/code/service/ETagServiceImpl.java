@@ -0,0 +1,183 @@
+package hexlet.code.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQuery;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.Label;
+import hexlet.code.model.QLabel;
+import hexlet.code.model.QTask;
+import hexlet.code.model.QTaskStatus;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Strong validators for read endpoints, so a conditional GET can be answered without
+ * loading and serializing entities.
+ *
+ * <p>Task tags are built from the @Version of the tasks in the response: the tag of a task starts
+ * with its version, the one of a page hashes ids and versions of its tasks in order. They are computed
+ * from the already loaded views for plain GETs and by a primary key ordered id/version query when
+ * If-None-Match has to be checked. A task response also embeds status, label and user names, which
+ * don't touch the task version, so both tags also carry the latest updated_at of those tables.
+ * Referenced rows can't be deleted, which leaves renames as the only change to catch.
+ *
+ * <p>Labels and statuses are small lookup tables: row count catches deletes,
+ * max(updated_at) catches inserts and updates.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ETagServiceImpl implements ETagService {
+
+    private static final QTask TASK = QTask.task;
+    private static final QLabel LABEL = QLabel.label;
+    private static final QTaskStatus STATUS = QTaskStatus.taskStatus;
+    // users.updated_at is indexed, statuses and labels are small, so every max is cheap
+    private static final String REFERENCES_UPDATED_AT = """
+            SELECT (SELECT MAX(updated_at) FROM task_statuses),
+                (SELECT MAX(updated_at) FROM labels),
+                (SELECT MAX(updated_at) FROM users)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Override
+    public String getTasksETag(Predicate predicate, Long afterId, int limit) {
+        final List<Tuple> rows = new JPAQuery<Void>(entityManager)
+                .select(TASK.id, TASK.version)
+                .from(TASK)
+                .where(ExpressionUtils.allOf(predicate, afterId == null ? null : TASK.id.gt(afterId)))
+                .orderBy(TASK.id.asc())
+                .limit(limit)
+                .fetch();
+        return pageTag(rows.stream().map(row -> row.get(TASK.id) + ":" + row.get(TASK.version)));
+    }
+
+    @Override
+    public String getTasksETag(List<TaskView> page) {
+        return pageTag(page.stream().map(task -> task.getId() + ":" + task.getVersion()));
+    }
+
+    @Override
+    public String getTaskETag(long id) {
+        return taskRepository.findVersionById(id)
+                .map(this::taskTag)
+                .orElse(null);
+    }
+
+    @Override
+    public String getTaskETag(TaskView task) {
+        return taskTag(task.getVersion());
+    }
+
+    @Override
+    public String getLabelsETag() {
+        return tag("labels", version(LABEL, LABEL.id, LABEL.updatedAt, null));
+    }
+
+    @Override
+    public String getLabelsETag(List<Label> labels) {
+        return tag("labels", version(labels, Label::getId, Label::getUpdatedAt));
+    }
+
+    @Override
+    public String getLabelETag(long id) {
+        return tag("label", version(LABEL, LABEL.id, LABEL.updatedAt, LABEL.id.eq(id)));
+    }
+
+    @Override
+    public String getLabelETag(Label label) {
+        return tag("label", version(List.of(label), Label::getId, Label::getUpdatedAt));
+    }
+
+    @Override
+    public String getTaskStatusesETag() {
+        return tag("statuses", version(STATUS, STATUS.id, STATUS.updatedAt, null));
+    }
+
+    @Override
+    public String getTaskStatusesETag(List<TaskStatus> statuses) {
+        return tag("statuses", version(statuses, TaskStatus::getId, TaskStatus::getUpdatedAt));
+    }
+
+    @Override
+    public String getTaskStatusETag(long id) {
+        return tag("status", version(STATUS, STATUS.id, STATUS.updatedAt, STATUS.id.eq(id)));
+    }
+
+    @Override
+    public String getTaskStatusETag(TaskStatus status) {
+        return tag("status", version(List.of(status), TaskStatus::getId, TaskStatus::getUpdatedAt));
+    }
+
+    // the version is kept readable in front, If-Match compares it with the task row
+    private String taskTag(long version) {
+        return version + "-" + referencesTag();
+    }
+
+    private String pageTag(Stream<String> versions) {
+        return tag(versions.collect(Collectors.joining(",")), referencesTag());
+    }
+
+    private String referencesTag() {
+        final Object[] row = (Object[]) entityManager.createNativeQuery(REFERENCES_UPDATED_AT).getSingleResult();
+        return tag(Stream.of(row).map(updatedAt -> millis((Date) updatedAt)).toArray());
+    }
+
+    private String version(EntityPathBase<?> from, NumberPath<Long> id,
+                           DateTimePath<Date> updatedAt, Predicate where) {
+        final Tuple row = new JPAQuery<Void>(entityManager)
+                .select(id.count(), id.max(), updatedAt.max())
+                .from(from)
+                .where(where)
+                .fetchOne();
+        return row == null ? version(0, null, null)
+                : version(row.get(0, Long.class), row.get(1, Long.class), row.get(2, Date.class));
+    }
+
+    // the same version as the aggregate query above, taken from already loaded rows
+    private static <T> String version(List<T> rows, Function<T, Long> id, Function<T, Date> updatedAt) {
+        return version(rows.size(),
+                rows.stream().map(id).max(Comparator.naturalOrder()).orElse(null),
+                rows.stream().map(updatedAt).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null));
+    }
+
+    private static String version(long count, Long maxId, Date maxUpdatedAt) {
+        return count + "," + maxId + "," + millis(maxUpdatedAt);
+    }
+
+    // loaded entities and query results may hold a Date or a Timestamp, both agree on millis
+    private static Long millis(Date date) {
+        return date == null ? null : date.getTime();
+    }
+
+    private static String tag(Object... parts) {
+        final String marker = Stream.of(parts)
+                .map(Objects::toString)
+                .collect(Collectors.joining("|"));
+        return DigestUtils.md5DigestAsHex(marker.getBytes(StandardCharsets.UTF_8));
+    }
+}
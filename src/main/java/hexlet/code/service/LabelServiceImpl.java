@@ -2,14 +2,12 @@ package hexlet.code.service;
 
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
-import hexlet.code.model.Task;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.NoSuchElementException;
 
 @Service
@@ -40,8 +38,7 @@ public class LabelServiceImpl implements LabelService {
     public void deleteLabel(Long id) {
         final Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Label not found"));
-        List<Task> tasks = taskRepository.findByLabels(label);
-        if (tasks.isEmpty()) {
+        if (!taskRepository.existsByLabelsId(id)) {
             labelRepository.delete(label);
         } else {
             throw new DataIntegrityViolationException("Can't delete label with existing task(s)");
@@ -1,9 +1,15 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPatchDto;
 import hexlet.code.model.Task;
 
+import java.util.List;
+
 public interface TaskService {
     Task createTask(TaskDto taskDto);
     Task updateTask(Long id, TaskDto taskDto);
+    Task patchTask(Long id, TaskPatchDto taskPatchDto);
+    List<Task> createTasks(List<TaskDto> taskDtos);
+    void deleteTask(Long id);
 }
@@ -1,17 +1,42 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.outbox.OutboxEventListener;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static hexlet.code.event.TaskChangedEvent.Type.CREATED;
+import static hexlet.code.event.TaskChangedEvent.Type.DELETED;
+import static hexlet.code.event.TaskChangedEvent.Type.UPDATED;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -31,10 +56,23 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxEventListener outboxEventListener;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
     @Override
     public Task createTask(TaskDto taskDto) {
         final Task task = new Task();
 
+        // the response embeds the author, so a reference by id would be loaded while serializing anyway
         final User author = userService.getCurrentUser();
         final TaskStatus taskStatus = taskStatusRepository.findById(taskDto.getTaskStatusId()).get();
 
@@ -47,13 +85,14 @@ public class TaskServiceImpl implements TaskService {
         if (executorId != null) {
             task.setExecutor(userRepository.findById(executorId).get());
         }
-        return taskRepository.save(task);
+        return publish(CREATED, taskRepository.save(task));
     }
 
     @Override
     public Task updateTask(Long id, TaskDto taskDto) {
-        final Task task = taskRepository.findById(id)
+        final Task task = taskRepository.findDetailedById(id)
                 .orElseThrow(() -> new NoSuchElementException("Task not found"));
+        checkVersion(task, taskDto.getVersion());
 
         final TaskStatus taskStatus = taskStatusRepository.findById(taskDto.getTaskStatusId()).get();
 
@@ -65,6 +104,139 @@ public class TaskServiceImpl implements TaskService {
         if (executorId != null) {
             task.setExecutor(userRepository.findById(executorId).get());
         }
-        return taskRepository.save(task);
+        // flushed right away so the response carries the incremented version
+        return publish(UPDATED, taskRepository.saveAndFlush(task));
+    }
+
+    // Only associations present in the patch are looked up, and with @DynamicUpdate
+    // the UPDATE statement lists only the columns that actually changed
+    @Override
+    @Transactional
+    public Task patchTask(Long id, TaskPatchDto taskPatchDto) {
+        final Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+        checkVersion(task, taskPatchDto.getVersion());
+
+        if (taskPatchDto.getName() != null) {
+            task.setName(taskPatchDto.getName());
+        }
+        if (taskPatchDto.getDescription() != null) {
+            task.setDescription(taskPatchDto.getDescription());
+        }
+        if (taskPatchDto.getTaskStatusId() != null) {
+            task.setTaskStatus(taskStatusRepository.findById(taskPatchDto.getTaskStatusId())
+                    .orElseThrow(() -> new NoSuchElementException("Task status not found")));
+        }
+        if (taskPatchDto.getExecutorId() != null) {
+            task.setExecutor(taskPatchDto.getExecutorId() == 0 ? null
+                    : userRepository.findById(taskPatchDto.getExecutorId())
+                    .orElseThrow(() -> new NoSuchElementException("Executor not found")));
+        }
+        if (taskPatchDto.getLabelIds() != null) {
+            task.setLabels(labelRepository.findAllById(taskPatchDto.getLabelIds()));
+        }
+        return publish(UPDATED, taskRepository.saveAndFlush(task));
+    }
+
+    // The author check and the delete are one statement. It bypasses entity events,
+    // so the outbox change is recorded here and nothing is published when no row went away
+    @Override
+    @Transactional
+    public void deleteTask(Long id) {
+        if (taskRepository.deleteByIdAndAuthorId(id, userService.getCurrentUserId()) == 0) {
+            if (!taskRepository.existsById(id)) {
+                throw new NoSuchElementException("Task not found");
+            }
+            throw new AccessDeniedException("Only the author can delete the task");
+        }
+        outboxEventListener.recordDelete(entityManager, Task.class, id);
+        eventPublisher.publishEvent(new TaskChangedEvent(DELETED, id));
+    }
+
+    // listeners get it after commit, see TaskEventBroadcaster
+    private Task publish(TaskChangedEvent.Type type, Task task) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, task.getId()));
+        return task;
+    }
+
+    // the client edited an older version, a write that slips in after this check
+    // is caught by the version condition of the UPDATE itself
+    private void checkVersion(Task task, Long version) {
+        if (version != null && !version.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+
+    // Every status, executor and label referenced by the batch is read with one query per table,
+    // then tasks are inserted in JDBC batches thanks to sequence ids (see hibernate.jdbc.batch_size)
+    @Override
+    @Transactional
+    public List<Task> createTasks(List<TaskDto> taskDtos) {
+        final User author = userService.getCurrentUser();
+
+        final Map<Long, TaskStatus> statuses = byId(
+                taskStatusRepository.findAllById(collectIds(taskDtos, dto -> Set.of(dto.getTaskStatusId()))),
+                TaskStatus::getId);
+        final Map<Long, User> executors = byId(
+                userRepository.findAllById(collectIds(taskDtos, this::getExecutorIds)),
+                User::getId);
+        final Map<Long, Label> labels = byId(
+                labelRepository.findAllById(collectIds(taskDtos, this::getLabelIds)),
+                Label::getId);
+
+        final List<Task> tasks = taskDtos.stream()
+                .map(taskDto -> buildTask(taskDto, author, statuses, executors, labels))
+                .collect(toList());
+        final List<Task> saved = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            saved.add(publish(CREATED, taskRepository.save(task)));
+            // each full JDBC batch is sent and detached, so the session doesn't track the whole import
+            if (saved.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return saved;
+    }
+
+    private Task buildTask(TaskDto taskDto, User author, Map<Long, TaskStatus> statuses,
+                           Map<Long, User> executors, Map<Long, Label> labels) {
+        final Task task = new Task();
+        task.setName(taskDto.getName());
+        task.setDescription(taskDto.getDescription());
+        task.setAuthor(author);
+        task.setTaskStatus(getOrThrow(statuses, taskDto.getTaskStatusId(), "Task status not found"));
+        task.setLabels(getLabelIds(taskDto).stream()
+                .map(id -> getOrThrow(labels, id, "Label not found"))
+                .collect(toList()));
+        if (taskDto.getExecutorId() != 0) {
+            task.setExecutor(getOrThrow(executors, taskDto.getExecutorId(), "Executor not found"));
+        }
+        return task;
+    }
+
+    // ids start from 1, so 0 means the executor was not set
+    private Set<Long> getExecutorIds(TaskDto taskDto) {
+        return taskDto.getExecutorId() == 0 ? Set.of() : Set.of(taskDto.getExecutorId());
+    }
+
+    private Set<Long> getLabelIds(TaskDto taskDto) {
+        return Optional.ofNullable(taskDto.getLabelIds()).orElse(Set.of());
+    }
+
+    private static Set<Long> collectIds(List<TaskDto> taskDtos, Function<TaskDto, Set<Long>> ids) {
+        return taskDtos.stream()
+                .map(ids)
+                .flatMap(Collection::stream)
+                .collect(toSet());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(toMap(id, Function.identity()));
+    }
+
+    private static <T> T getOrThrow(Map<Long, T> entities, Long id, String message) {
+        return Optional.ofNullable(entities.get(id))
+                .orElseThrow(() -> new NoSuchElementException(message));
     }
 }
@@ -0,0 +1,8 @@
+package hexlet.code.service;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskStats;
+
+public interface TaskStatsService {
+    TaskStats getStats(Predicate predicate);
+}
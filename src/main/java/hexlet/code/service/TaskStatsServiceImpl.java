@@ -0,0 +1,48 @@
+package hexlet.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Board statistics, optionally cached for tasks.stats.cache-ttl per filter:
+ * dashboards polling the same numbers share one set of aggregate queries.
+ * A zero ttl turns the cache off.
+ */
+@Service
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    // predicate of a request without filters is null, which a cache can't use as a key
+    private static final Object NO_FILTER = new Object();
+
+    private final TaskRepository taskRepository;
+    private final Cache<Object, TaskStats> cache;
+
+    public TaskStatsServiceImpl(final TaskRepository taskRepository,
+                                final MeterRegistry meterRegistry,
+                                @Value("${tasks.stats.cache-ttl:5s}") final Duration cacheTtl,
+                                @Value("${tasks.stats.cache-size:1000}") final long cacheSize) {
+        this.taskRepository = taskRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheTtl.isZero() ? 0 : cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "taskStats");
+    }
+
+    @Override
+    public TaskStats getStats(final Predicate predicate) {
+        return cache.get(Optional.<Object>ofNullable(predicate).orElse(NO_FILTER),
+                key -> taskRepository.findStats(predicate));
+    }
+}
@@ -33,7 +33,7 @@ public class TaskStatusServiceImpl implements TaskStatusService {
 
     @Override
     public void deleteTaskStatus(Long id) {
-        boolean isPresentTask = taskRepository.findByTaskStatusId(id).isPresent();
+        boolean isPresentTask = taskRepository.existsByTaskStatusId(id);
 
         if (isPresentTask) {
             throw new DataIntegrityViolationException("Can't delete status associated with present task");
@@ -10,4 +10,5 @@ public interface UserService {
     void deleteUser(Long id);
     String getCurrentUserName();
     User getCurrentUser();
+    Long getCurrentUserId();
 }
@@ -1,5 +1,6 @@
 package hexlet.code.service;
 
+import hexlet.code.config.security.UserPrincipal;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
@@ -29,6 +30,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CurrentUserHolder currentUserHolder;
+
     @Override
     public User createUser(UserDto userDto) {
         final User user = new User();
@@ -53,7 +57,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     @Override
     public void deleteUser(Long id) {
         final User user = userRepository.findById(id).get();
-        boolean isPresentTaskForUser = taskRepository.findFirstByAuthorIdOrExecutorId(id, id).isPresent();
+        boolean isPresentTaskForUser = taskRepository.existsByAuthorId(id) || taskRepository.existsByExecutorId(id);
         if (isPresentTaskForUser) {
             throw new DataIntegrityViolationException("Can't delete user with existing task(s)");
         }
@@ -67,7 +71,12 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     @Override
     public User getCurrentUser() {
-        return userRepository.findByEmail(getCurrentUserName()).get();
+        return currentUserHolder.getUser();
+    }
+
+    @Override
+    public Long getCurrentUserId() {
+        return currentUserHolder.getUserId();
     }
 
     @Override
@@ -78,7 +87,8 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     }
 
     private UserDetails buildSpringUser(final User user) {
-        return new org.springframework.security.core.userdetails.User(
+        return new UserPrincipal(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
                 DEFAULT_AUTHORITIES
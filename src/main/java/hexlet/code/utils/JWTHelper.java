@@ -2,34 +2,42 @@ package hexlet.code.utils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClock;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import static io.jsonwebtoken.SignatureAlgorithm.HS256;
-import static io.jsonwebtoken.impl.TextCodec.BASE64;
 
 @Component
 public class JWTHelper {
 
-    private final String secretKey;
+    private final SecretKey secretKey;
     private final String issuer;
     private final Long expirationSec;
-    private final Long clockSkewSec;
     private final Clock clock;
+    private final JwtParser parser;
 
     public JWTHelper(@Value("${jwt.issuer:spring_blog}") final String issuer,
                      @Value("${jwt.expiration-sec:86400}") final Long expirationSec,
                      @Value("${jwt.clock-skew-sec:300}") final Long clockSkewSec,
                      @Value("${jwt.secret:secret}") final String secret) {
-        this.secretKey = BASE64.encode(secret);
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HS256.getJcaName());
         this.issuer = issuer;
         this.expirationSec = expirationSec;
-        this.clockSkewSec = clockSkewSec;
         this.clock = DefaultClock.INSTANCE;
+        // the parser is only read after this point, so one instance is shared by all requests
+        this.parser = Jwts.parser()
+                .requireIssuer(issuer)
+                .setClock(clock)
+                .setAllowedClockSkewSeconds(clockSkewSec)
+                .setSigningKey(secretKey);
     }
 
     public String expiring(final Map<String, Object> attributes) {
@@ -40,22 +48,18 @@ public class JWTHelper {
     }
 
     public Map<String, Object> verify(final String token) {
-        return Jwts.parser()
-                .requireIssuer(issuer)
-                .setClock(clock)
-                .setAllowedClockSkewSeconds(clockSkewSec)
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody();
     }
 
     private Claims getClaims(final Map<String, Object> attributes, final Long expiresInSec) {
         final Claims claims = Jwts.claims();
+        final Date now = clock.now();
         claims.setIssuer(issuer);
-        claims.setIssuedAt(clock.now());
+        claims.setIssuedAt(now);
         claims.putAll(attributes);
         if (expiresInSec > 0) {
-            claims.setExpiration(new Date(System.currentTimeMillis() + expiresInSec * 1000));
+            claims.setExpiration(new Date(now.getTime() + expiresInSec * 1000));
         }
         return claims;
     }
@@ -0,0 +1,81 @@
+package hexlet.code.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers claims of already verified tokens until they expire,
+ * so a client sending the same token again costs a hash lookup
+ * instead of parsing and checking the signature.
+ */
+@Component
+public class JWTVerificationCache {
+
+    private final JWTHelper jwtHelper;
+    private final Cache<String, Map<String, Object>> cache;
+
+    public JWTVerificationCache(final JWTHelper jwtHelper,
+                                final MeterRegistry meterRegistry,
+                                @Value("${jwt.cache.max-size:10000}") final Long maxSize) {
+        this.jwtHelper = jwtHelper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt");
+    }
+
+    public Map<String, Object> verify(final String token) {
+        // invalid tokens make verify throw, so only verified ones get cached
+        return cache.get(digest(token), key -> jwtHelper.verify(token));
+    }
+
+    private static String digest(final String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class UntilTokenExpiration implements Expiry<String, Map<String, Object>> {
+
+        @Override
+        public long expireAfterCreate(final String key, final Map<String, Object> claims, final long currentTime) {
+            final Object expiration = claims.get(Claims.EXPIRATION);
+            if (!(expiration instanceof Number)) {
+                return Long.MAX_VALUE;
+            }
+            final long expiresAtMillis = TimeUnit.SECONDS.toMillis(((Number) expiration).longValue());
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAtMillis - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Map<String, Object> claims,
+                                      final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Map<String, Object> claims,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
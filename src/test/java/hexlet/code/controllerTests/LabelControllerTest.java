@@ -8,6 +8,8 @@ import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.utils.TestUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -16,16 +18,20 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 
 import static hexlet.code.controller.LabelController.LABEL_PATH;
 import static hexlet.code.controller.UserController.ID;
 import static hexlet.code.utils.TestUtils.fromJsom;
+import static hexlet.code.utils.TestUtils.statementCountAtMost;
 import static hexlet.code.utils.TestUtils.toJson;
 import static hexlet.code.utils.TestUtils.TEST_USERNAME;
 import static hexlet.code.utils.TestUtils.BASE_URL;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -37,7 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Transactional
 @DBRider
 @DBUnit(alwaysCleanBefore = true)
-@DataSet("labels.yml")
+@DataSet(value = "labels.yml", executeStatementsBefore = "ALTER SEQUENCE labels_seq RESTART WITH 100")
 public class LabelControllerTest {
 
     private final LabelDto labelDto = new LabelDto("newLabel");
@@ -48,6 +54,9 @@ public class LabelControllerTest {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     public void getLabelTest() throws Exception {
         final MockHttpServletResponse response = testUtils.perform(
@@ -73,6 +82,29 @@ public class LabelControllerTest {
         assertThat(labels.size()).isEqualTo(countLabelsInRepository);
     }
 
+    @Test
+    public void getAllLabelsNotModifiedTest() throws Exception {
+        // a plain GET reads only the labels, the ETag comes from them
+        final String eTag = testUtils.perform(get(BASE_URL + LABEL_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(1))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        assertThat(eTag).isNotBlank();
+
+        testUtils.perform(get(BASE_URL + LABEL_PATH).header(IF_NONE_MATCH, eTag), TEST_USERNAME)
+                .andExpect(status().isNotModified());
+
+        testUtils.perform(put(BASE_URL + LABEL_PATH + ID, 1)
+                        .content(toJson(new LabelDto("renamedLabel")))
+                        .contentType(MediaType.APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        testUtils.perform(get(BASE_URL + LABEL_PATH).header(IF_NONE_MATCH, eTag), TEST_USERNAME)
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void createLabelTest() throws Exception {
         final MockHttpServletResponse response = testUtils.perform(
@@ -112,6 +144,20 @@ public class LabelControllerTest {
         assertThat(labelRepository.count()).isEqualTo(1);
     }
 
+    @Test
+    public void deleteLabelWithTasksTest() throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testUtils.perform(
+                delete(BASE_URL + LABEL_PATH + ID, 1), TEST_USERNAME)
+                .andExpect(status().isUnprocessableEntity());
+
+        // only the label itself is loaded, tasks carrying it are checked with an exists query
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(1);
+        assertThat(labelRepository.count()).isEqualTo(2);
+    }
+
     @Test
     public void crudTestNegative() throws Exception {
         testUtils.perform(get(BASE_URL + LABEL_PATH + ID, 1))
@@ -0,0 +1,131 @@
+package hexlet.code.controllerTests;
+
+import hexlet.code.config.security.BoundedPasswordEncoder;
+import hexlet.code.dto.LoginDto;
+import hexlet.code.exception.TooManyRequestsException;
+import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static hexlet.code.config.security.SecurityConfig.LOGIN;
+import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+import static hexlet.code.utils.TestUtils.BASE_URL;
+import static hexlet.code.utils.TestUtils.toJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+public class PasswordHashingLimitTest {
+
+    private static final String REJECTED_METRIC = "password.hashing.rejected";
+    private static final long WAIT_MS = 5000;
+
+    // hashing blocks until the test opens the gate, so the single thread and the one queue slot stay taken
+    private static final CountDownLatch GATE = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class SaturatedEncoderConfig {
+
+        @Bean
+        @Primary
+        public PasswordEncoder saturatedPasswordEncoder(MeterRegistry meterRegistry) {
+            final PasswordEncoder gated = new BCryptPasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    awaitGate();
+                    return super.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    awaitGate();
+                    return super.matches(rawPassword, encodedPassword);
+                }
+            };
+            return new BoundedPasswordEncoder(gated, 1, 1, meterRegistry);
+        }
+
+        private static void awaitGate() {
+            try {
+                GATE.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Thread> hashing = new ArrayList<>();
+
+    @AfterEach
+    public void openGate() throws InterruptedException {
+        GATE.countDown();
+        for (Thread thread : hashing) {
+            thread.join(WAIT_MS);
+        }
+    }
+
+    @Test
+    public void rejectWhenHashingIsSaturated() throws Exception {
+        saturate();
+        final Counter rejected = meterRegistry.counter(REJECTED_METRIC);
+        final double rejectedBefore = rejected.count();
+
+        final LoginDto loginDto = new LoginDto(TestUtils.TEST_USERNAME, "password");
+        testUtils.perform(post(BASE_URL + LOGIN)
+                        .content(toJson(loginDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests());
+
+        testUtils.perform(post(BASE_URL + USER_CONTROLLER_PATH)
+                        .content(toJson(testUtils.getTestRegistrationDto()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests());
+
+        assertThat(rejected.count()).isEqualTo(rejectedBefore + 2);
+    }
+
+    // one call takes the thread, one the queue slot, the third is rejected, which means both are taken
+    private void saturate() throws InterruptedException {
+        final CountDownLatch rejection = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    passwordEncoder.encode("password");
+                } catch (TooManyRequestsException e) {
+                    rejection.countDown();
+                }
+            });
+            thread.start();
+            hashing.add(thread);
+        }
+        assertThat(rejection.await(WAIT_MS, TimeUnit.MILLISECONDS)).as("password hashing saturated").isTrue();
+    }
+}
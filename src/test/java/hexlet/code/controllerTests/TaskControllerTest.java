@@ -4,34 +4,63 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.database.rider.core.api.configuration.DBUnit;
 import com.github.database.rider.core.api.dataset.DataSet;
 import com.github.database.rider.junit5.api.DBRider;
+import hexlet.code.config.metrics.SqlStatementRecorder;
+import hexlet.code.dto.SqlStatementSummary;
+import hexlet.code.dto.TaskBatchDto;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.Task;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.search.TaskSearchIndex;
 import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static hexlet.code.controller.TaskController.BATCH_PATH;
+import static hexlet.code.controller.TaskController.EVENTS_PATH;
+import static hexlet.code.controller.TaskController.NEXT_CURSOR_HEADER;
+import static hexlet.code.controller.TaskController.SEARCH_PATH;
+import static hexlet.code.controller.TaskController.STATS_PATH;
 import static hexlet.code.controller.TaskController.TASK_PATH;
+import static hexlet.code.controller.TaskStatusController.TASK_STATUS_PATH;
+import static hexlet.code.config.metrics.ServiceMetricsAspect.METRIC_NAME;
 import static hexlet.code.controller.UserController.ID;
 import static hexlet.code.utils.TestUtils.fromJsom;
+import static hexlet.code.utils.TestUtils.statementCount;
 import static hexlet.code.utils.TestUtils.toJson;
 import static hexlet.code.utils.TestUtils.TEST_USERNAME;
 import static hexlet.code.utils.TestUtils.BASE_URL;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -39,7 +68,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Transactional
 @DBRider
 @DBUnit(alwaysCleanBefore = true)
-@DataSet("tasks.yml")
+@DataSet(value = "tasks.yml", executeStatementsBefore = "ALTER SEQUENCE tasks_seq RESTART WITH 100")
 public class TaskControllerTest {
 
     @Autowired
@@ -48,6 +77,18 @@ public class TaskControllerTest {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
     @Test
     public void getAllTasks() throws Exception {
         final MockHttpServletResponse response = testUtils.perform(
@@ -81,6 +122,254 @@ public class TaskControllerTest {
         assertThat(tasks.size()).isEqualTo(1);
     }
 
+    @Test
+    public void getAllTasksByPages() throws Exception {
+        final MockHttpServletResponse firstPage = testUtils.perform(
+                        get(BASE_URL + TASK_PATH + "?limit=1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(firstPage.getContentAsString()).contains("taskOne");
+        assertThat(firstPage.getContentAsString()).doesNotContain("taskTwo");
+        final String cursor = firstPage.getHeader(NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotBlank();
+
+        final MockHttpServletResponse secondPage = testUtils.perform(
+                        get(BASE_URL + TASK_PATH + "?limit=1&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(secondPage.getContentAsString()).contains("taskTwo");
+        assertThat(secondPage.getContentAsString()).doesNotContain("taskOne");
+    }
+
+    @Test
+    public void getAllTasksDefaultPage() throws Exception {
+        final TaskBatchDto batchDto = new TaskBatchDto(List.of(
+                new TaskDto("first batch task", "this is test", 1, 1, Set.of()),
+                new TaskDto("second batch task", "this is test", 2, 2, Set.of())
+        ));
+        testUtils.perform(post(BASE_URL + TASK_PATH + BATCH_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(batchDto)), TEST_USERNAME)
+                .andExpect(status().isCreated());
+
+        final MockHttpServletResponse first = testUtils.perform(get(BASE_URL + TASK_PATH))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> firstPage = fromJsom(first.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(firstPage).hasSize(2);
+        assertThat(first.getHeader(NEXT_CURSOR_HEADER)).isNotBlank();
+
+        final MockHttpServletResponse second = testUtils.perform(
+                        get(BASE_URL + TASK_PATH + "?limit=100&cursor=" + first.getHeader(NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> secondPage = fromJsom(second.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(secondPage).hasSize(2);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(1).getId());
+    }
+
+    @Test
+    public void getAllTasksByPagesNegative() throws Exception {
+        testUtils.perform(get(BASE_URL + TASK_PATH + "?cursor=broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getAllTasksQueryCount() throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testUtils.perform(get(BASE_URL + TASK_PATH))
+                .andExpect(status().isOk());
+
+        // one projection query for the page, one for its labels and one for the latest change of the names
+        // they embed, the rest of the ETag comes from the loaded versions
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void getAllTasksTimed() throws Exception {
+        testUtils.perform(get(BASE_URL + TASK_PATH))
+                .andExpect(status().isOk());
+
+        final Timer timer = meterRegistry.find(METRIC_NAME)
+                .tags("service", "ETagServiceImpl", "method", "getTasksETag", "exception", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isPositive();
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", BASE_URL + TASK_PATH).timer())
+                .isNotNull();
+    }
+
+    @Test
+    public void getTaskRecordsSqlStatements() throws Exception {
+        testUtils.perform(get(BASE_URL + TASK_PATH + ID, 2))
+                .andExpect(status().isOk());
+
+        final List<SqlStatementSummary> statements = sqlStatementRecorder.slowest(Integer.MAX_VALUE);
+        assertThat(statements)
+                .extracting(SqlStatementSummary::getSql)
+                .anyMatch(sql -> sql.contains("from tasks"))
+                .noneMatch(sql -> sql.contains("'"));
+        assertThat(statements).allMatch(statement -> statement.getCount() > 0);
+        // the SQL text stays out of the metric tags, only the kind of statement is there
+        assertThat(meterRegistry.find(SqlStatementRecorder.METRIC_NAME).tag("operation", "select").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find(SqlStatementRecorder.METRIC_NAME).tagKeys("sql").meters()).isEmpty();
+    }
+
+    @Test
+    public void getAllTasksConstantQueryCount() throws Exception {
+        final int onePage = statementCount(testUtils.performWithinStatementBudget(
+                get(BASE_URL + TASK_PATH + "?limit=1"), 3));
+
+        final TaskBatchDto batchDto = new TaskBatchDto(List.of(
+                new TaskDto("first batch task", "this is test", 1, 1, Set.of(1L)),
+                new TaskDto("second batch task", "this is test", 2, 2, Set.of(1L)),
+                new TaskDto("third batch task", "this is test", 0, 2, Set.of())
+        ));
+        testUtils.perform(post(BASE_URL + TASK_PATH + BATCH_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(batchDto)), TEST_USERNAME)
+                .andExpect(status().isCreated());
+
+        // more tasks, executors and labels on the page must not add statements
+        testUtils.performWithinStatementBudget(get(BASE_URL + TASK_PATH), onePage)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getTaskNotModified() throws Exception {
+        final String eTag = testUtils.perform(get(BASE_URL + TASK_PATH + ID, 1))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        assertThat(eTag).isNotBlank();
+
+        final MockHttpServletResponse notModified = testUtils.perform(
+                        get(BASE_URL + TASK_PATH + ID, 1).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse();
+        assertThat(notModified.getContentAsString()).isEmpty();
+
+        final TaskDto taskDto = new TaskDto("taskOne", "description", 2, 1, Set.of());
+        testUtils.perform(put(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(taskDto)), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        testUtils.perform(get(BASE_URL + TASK_PATH + ID, 1).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getTaskModifiedByStatusRename() throws Exception {
+        final String eTag = testUtils.perform(get(BASE_URL + TASK_PATH + ID, 1))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        testUtils.perform(put(BASE_URL + TASK_STATUS_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new TaskStatusDto("renamed"))), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        // the task row is unchanged, but its response embeds the status name
+        final String renamedETag = testUtils.perform(get(BASE_URL + TASK_PATH + ID, 1).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        assertThat(renamedETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    public void getAllTasksNotModified() throws Exception {
+        final String eTag = testUtils.perform(get(BASE_URL + TASK_PATH))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        testUtils.perform(get(BASE_URL + TASK_PATH).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        final TaskDto taskDto = new TaskDto("taskOne", "description", 2, 1, Set.of());
+        testUtils.perform(put(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(taskDto)), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        final String updatedETag = testUtils.perform(get(BASE_URL + TASK_PATH).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        testUtils.perform(delete(BASE_URL + TASK_PATH + ID, 1), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        testUtils.perform(get(BASE_URL + TASK_PATH).header(IF_NONE_MATCH, updatedETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void searchTasks() throws Exception {
+        taskSearchIndex.rebuild();
+
+        final MockHttpServletResponse response = testUtils.perform(
+                        get(BASE_URL + TASK_PATH + SEARCH_PATH + "?q=descTwo"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<Task> tasks = fromJsom(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(tasks).extracting(Task::getName).containsExactly("taskTwo");
+    }
+
+    @Test
+    public void searchTasksNegative() throws Exception {
+        testUtils.perform(get(BASE_URL + TASK_PATH + SEARCH_PATH + "?q= "))
+                .andExpect(status().isBadRequest());
+        testUtils.perform(get(BASE_URL + TASK_PATH + SEARCH_PATH + "?q=task&page=100000"))
+                .andExpect(status().isBadRequest());
+        testUtils.perform(get(BASE_URL + TASK_PATH + SEARCH_PATH + "?q=task&page=" + Integer.MAX_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getTaskStats() throws Exception {
+        final MockHttpServletResponse response = testUtils.perform(
+                        get(BASE_URL + TASK_PATH + STATS_PATH + "?taskStatus=1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final Map<String, List<Map<String, Object>>> stats = fromJsom(response.getContentAsString(),
+                new TypeReference<>() {
+                });
+        assertThat(stats.get("byStatusAndExecutor"))
+                .extracting(count -> count.get("executorId"), count -> count.get("count"))
+                .containsExactlyInAnyOrder(tuple(1, 1), tuple(2, 1));
+        assertThat(stats.get("byLabel")).isEmpty();
+        assertThat(stats.get("createdPerDay"))
+                .extracting(count -> count.get("day"), count -> count.get("count"))
+                .containsExactly(tuple("2022-04-07", 2));
+    }
+
     @Test
     public void getTask() throws Exception {
         final Task task = taskRepository.findById(1L).get();
@@ -150,6 +439,76 @@ public class TaskControllerTest {
         assertThat(taskRepository.count()).isEqualTo(2);
     }
 
+    @Test
+    public void createTasks() throws Exception {
+        assertThat(taskRepository.count()).isEqualTo(2);
+
+        final TaskBatchDto batchDto = new TaskBatchDto(List.of(
+                new TaskDto("first batch task", "this is test", 1, 1, Set.of(1L)),
+                new TaskDto("second batch task", "this is test", 0, 2, Set.of())
+        ));
+        final MockHttpServletRequestBuilder request = post(BASE_URL + TASK_PATH + BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(batchDto));
+
+        final MockHttpServletResponse response = testUtils.perform(request, TEST_USERNAME)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).contains("first batch task", "second batch task");
+        assertThat(taskRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    public void createTasksOverJdbcBatches() throws Exception {
+        // more than hibernate.jdbc.batch_size, so the session is flushed and cleared on the way
+        final TaskBatchDto batchDto = new TaskBatchDto(
+                Collections.nCopies(120, new TaskDto("imported task", "this is test", 1, 1, Set.of(1L))));
+        final MockHttpServletRequestBuilder request = post(BASE_URL + TASK_PATH + BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(batchDto));
+
+        final List<Task> created = fromJsom(testUtils.perform(request, TEST_USERNAME)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<>() {
+                });
+
+        assertThat(created).hasSize(120);
+        assertThat(taskRepository.count()).isEqualTo(122);
+    }
+
+    @Test
+    public void createTasksNegativeTooMany() throws Exception {
+        final TaskBatchDto batchDto = new TaskBatchDto(Collections.nCopies(TaskBatchDto.MAX_TASKS + 1,
+                new TaskDto("imported task", "this is test", 1, 1, Set.of())));
+        final MockHttpServletRequestBuilder request = post(BASE_URL + TASK_PATH + BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(batchDto));
+
+        testUtils.perform(request, TEST_USERNAME)
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void createTasksNegative() throws Exception {
+        final TaskBatchDto batchDto = new TaskBatchDto(List.of(
+                new TaskDto("first batch task", "this is test", 1, 1, Set.of()),
+                new TaskDto("second batch task", "this is test", 1, 100, Set.of())
+        ));
+        final MockHttpServletRequestBuilder request = post(BASE_URL + TASK_PATH + BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(batchDto));
+
+        testUtils.perform(request, TEST_USERNAME)
+                .andExpect(status().isNotFound());
+
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
     @Test
     public void updateTask() throws Exception {
         final TaskDto taskDto = new TaskDto(
@@ -175,6 +534,118 @@ public class TaskControllerTest {
         assertThat(taskRepository.getById(1L).getName()).isEqualTo(taskDto.getName());
     }
 
+    @Test
+    public void updateTaskWithVersion() throws Exception {
+        final TaskDto taskDto = new TaskDto("update test task", "this is test", 1, 1, Set.of(), 0L);
+        final MockHttpServletResponse response = testUtils.perform(put(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(taskDto)), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        final Task task = fromJsom(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(task.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void updateTaskConflict() throws Exception {
+        final TaskDto staleDto = new TaskDto("update test task", "this is test", 1, 1, Set.of(), 5L);
+        testUtils.perform(put(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(staleDto)), TEST_USERNAME)
+                .andExpect(status().isConflict());
+
+        final TaskDto taskDto = new TaskDto("update test task", "this is test", 1, 1, Set.of());
+        testUtils.perform(put(BASE_URL + TASK_PATH + ID, 1)
+                        .header(IF_MATCH, "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(taskDto)), TEST_USERNAME)
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(1L).get().getName()).isEqualTo("taskOne");
+    }
+
+    @Test
+    public void updateTaskWithETag() throws Exception {
+        final String eTag = testUtils.perform(get(BASE_URL + TASK_PATH + ID, 1))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        final TaskDto taskDto = new TaskDto("update test task", "this is test", 1, 1, Set.of());
+        testUtils.perform(put(BASE_URL + TASK_PATH + ID, 1)
+                        .header(IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(taskDto)), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        final TaskPatchDto patchDto = new TaskPatchDto("stale patch", null, null, null, null, null);
+        testUtils.perform(patch(BASE_URL + TASK_PATH + ID, 1)
+                        .header(IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(patchDto)), TEST_USERNAME)
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(1L).get().getName()).isEqualTo("update test task");
+    }
+
+    @Test
+    public void patchTask() throws Exception {
+        final TaskPatchDto patchDto = new TaskPatchDto(null, null, null, 2L, null, null);
+        final MockHttpServletResponse response = testUtils.perform(patch(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(patchDto)), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        final Task task = fromJsom(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(task.getTaskStatus().getId()).isEqualTo(2L);
+        assertThat(task.getName()).isEqualTo("taskOne");
+        assertThat(task.getDescription()).isEqualTo("descOne");
+        assertThat(task.getExecutor().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    public void patchTaskNegative() throws Exception {
+        final TaskPatchDto blankName = new TaskPatchDto(" ", null, null, null, null, null);
+        testUtils.perform(patch(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(blankName)), TEST_USERNAME)
+                .andExpect(status().isUnprocessableEntity());
+
+        final TaskPatchDto missingStatus = new TaskPatchDto(null, null, null, 100L, null, null);
+        testUtils.perform(patch(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(missingStatus)), TEST_USERNAME)
+                .andExpect(status().isNotFound());
+
+        assertThat(taskRepository.findById(1L).get().getTaskStatus().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamTaskEvents() throws Exception {
+        final MvcResult stream = testUtils.perform(get(BASE_URL + TASK_PATH + EVENTS_PATH + "?taskStatus=1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final TaskPatchDto rename = new TaskPatchDto("renamed task", null, null, null, null, null);
+        testUtils.perform(patch(BASE_URL + TASK_PATH + ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(rename)), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        // events are sent after commit by a background thread
+        final MockHttpServletResponse response = stream.getResponse();
+        for (int i = 0; i < 50 && !response.getContentAsString().contains("renamed task"); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(response.getContentAsString()).contains("event:updated", "renamed task");
+    }
+
     @Test
     public void updateTaskNegative() throws Exception {
         final TaskDto taskDto = new TaskDto(
@@ -213,4 +684,12 @@ public class TaskControllerTest {
 
         assertThat(taskRepository.count()).isEqualTo(2);
     }
+
+    @Test
+    public void deleteTaskNegativeNotFound() throws Exception {
+        testUtils.perform(delete(BASE_URL + TASK_PATH + ID, 1000), TEST_USERNAME)
+                .andExpect(status().isNotFound());
+
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
 }
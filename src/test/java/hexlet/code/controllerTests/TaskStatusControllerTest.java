@@ -8,6 +8,8 @@ import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.utils.TestUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 
 import static hexlet.code.controller.TaskStatusController.TASK_STATUS_PATH;
@@ -28,6 +31,8 @@ import static hexlet.code.utils.TestUtils.TEST_USERNAME;
 import static hexlet.code.utils.TestUtils.BASE_URL;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -39,7 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Transactional
 @DBRider
 @DBUnit(alwaysCleanBefore = true)
-@DataSet("taskStatuses.yml")
+@DataSet(value = "taskStatuses.yml", executeStatementsBefore = "ALTER SEQUENCE task_statuses_seq RESTART WITH 100")
 public class TaskStatusControllerTest {
 
     @Autowired
@@ -48,6 +53,9 @@ public class TaskStatusControllerTest {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     public void before() throws Exception {
         testUtils.regDefaultUser();
@@ -116,6 +124,39 @@ public class TaskStatusControllerTest {
         assertThat(statuses.size()).isEqualTo(countStatuses);
     }
 
+    @Test
+    public void getStatusesFromCacheTest() throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testUtils.perform(get(BASE_URL + TASK_STATUS_PATH)).andExpect(status().isOk());
+        testUtils.perform(get(BASE_URL + TASK_STATUS_PATH)).andExpect(status().isOk());
+
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void getStatusesNotModifiedTest() throws Exception {
+        final String eTag = testUtils.perform(get(BASE_URL + TASK_STATUS_PATH))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        assertThat(eTag).isNotBlank();
+
+        testUtils.perform(get(BASE_URL + TASK_STATUS_PATH).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        final long id = statusRepository.findAll().get(0).getId();
+        testUtils.perform(put(BASE_URL + TASK_STATUS_PATH + ID, id)
+                        .content(toJson(new TaskStatusDto("finished")))
+                        .contentType(MediaType.APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        testUtils.perform(get(BASE_URL + TASK_STATUS_PATH).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void updateStatusTest() throws Exception {
         final TaskStatus statusTask = statusRepository.findAll().get(0);
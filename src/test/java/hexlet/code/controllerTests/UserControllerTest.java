@@ -5,7 +5,9 @@ import hexlet.code.dto.LoginDto;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.JWTHelper;
 import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 import static hexlet.code.config.security.SecurityConfig.LOGIN;
 import static hexlet.code.controller.UserController.ID;
@@ -26,6 +29,7 @@ import static hexlet.code.utils.TestUtils.TEST_USERNAME;
 import static hexlet.code.utils.TestUtils.TEST_USERNAME2;
 import static hexlet.code.utils.TestUtils.BASE_URL;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -44,6 +48,12 @@ public class UserControllerTest {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private JWTHelper jwtHelper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     public void registrationTest() throws Exception {
         assertThat(userRepository.count()).isEqualTo(0);
@@ -102,6 +112,22 @@ public class UserControllerTest {
         assertThat(userRepository.count()).isEqualTo(1);
     }
 
+    @Test
+    public void getUserWithCachedToken() throws Exception {
+        testUtils.regDefaultUser();
+        final User expectedUser = userRepository.findAll().get(0);
+        final String token = jwtHelper.expiring(Map.of("email", expectedUser.getEmail()));
+        final double hitsBefore = jwtCacheHits();
+
+        for (int i = 0; i < 2; i++) {
+            testUtils.perform(get(BASE_URL + USER_CONTROLLER_PATH + ID, expectedUser.getId())
+                            .header(AUTHORIZATION, token))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(jwtCacheHits()).isEqualTo(hitsBefore + 1);
+    }
+
     @Test
     public void login() throws Exception {
         testUtils.regDefaultUser();
@@ -157,6 +183,28 @@ public class UserControllerTest {
         testUtils.perform(updateRequest, TEST_USERNAME2).andExpect(status().isForbidden());
     }
 
+    @Test
+    public void updateUserWithIdInTokenTest() throws Exception {
+        testUtils.regDefaultUser();
+        final Long id = userRepository.findByEmail(TEST_USERNAME).get().getId();
+        final UserDto userDto = new UserDto(TEST_USERNAME2, "name", "lastname", "password");
+
+        // the id claim decides ownership, as for tokens issued by login
+        final String otherUserToken = jwtHelper.expiring(Map.of("email", TEST_USERNAME, "id", id + 1));
+        testUtils.perform(put(BASE_URL + USER_CONTROLLER_PATH + ID, id)
+                        .header(AUTHORIZATION, otherUserToken)
+                        .content(toJson(userDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+
+        final String ownToken = jwtHelper.expiring(Map.of("email", TEST_USERNAME, "id", id));
+        testUtils.perform(put(BASE_URL + USER_CONTROLLER_PATH + ID, id)
+                        .header(AUTHORIZATION, ownToken)
+                        .content(toJson(userDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void deleteUserTest() throws Exception {
         testUtils.regDefaultUser();
@@ -180,4 +228,8 @@ public class UserControllerTest {
 
         assertThat(userRepository.count()).isEqualTo(1);
     }
+
+    private double jwtCacheHits() {
+        return meterRegistry.get("cache.gets").tags("cache", "jwt", "result", "hit").functionCounter().count();
+    }
 }
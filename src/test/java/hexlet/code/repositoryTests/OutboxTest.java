@@ -0,0 +1,90 @@
+package hexlet.code.repositoryTests;
+
+import hexlet.code.model.Label;
+import hexlet.code.outbox.OutboxChange;
+import hexlet.code.outbox.OutboxRelay;
+import hexlet.code.repository.LabelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static hexlet.code.outbox.OutboxChange.Type.CREATED;
+import static hexlet.code.outbox.OutboxChange.Type.DELETED;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RecordApplicationEvents
+public class OutboxTest {
+
+    private static final String COUNT_LABEL_CHANGES = """
+            SELECT COUNT(*) FROM outbox WHERE aggregate_type = 'Label' AND aggregate_id = ?
+            """;
+    private static final String INSERT_CHANGE = """
+            INSERT INTO outbox (id, aggregate_type, aggregate_id, change_type, created_at)
+            VALUES (?, 'Label', ?, 'UPDATED', CURRENT_TIMESTAMP)
+            """;
+    private static final long FIRST_ID = 1_000_000;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    public void changesAreRelayedFromOutbox() {
+        final Label label = new Label();
+        label.setName("outbox");
+        final long id = labelRepository.save(label).getId();
+
+        assertThat(jdbcTemplate.queryForObject(COUNT_LABEL_CHANGES, Long.class, id)).isEqualTo(1);
+
+        labelRepository.deleteById(id);
+        outboxRelay.relay();
+
+        assertThat(jdbcTemplate.queryForObject(COUNT_LABEL_CHANGES, Long.class, id)).isZero();
+        final List<OutboxChange.Type> relayed = events.stream(OutboxChange.class)
+                .filter(change -> change.getAggregateId() == id && "Label".equals(change.getAggregateType()))
+                .map(OutboxChange::getType)
+                .collect(toList());
+        assertThat(relayed).containsExactly(CREATED, DELETED);
+    }
+
+    @Test
+    public void lateChangeWithLowerIdIsNotLost() {
+        jdbcTemplate.update(INSERT_CHANGE, FIRST_ID, FIRST_ID);
+        jdbcTemplate.update(INSERT_CHANGE, FIRST_ID + 2, FIRST_ID + 2);
+        final List<Long> relayed = new ArrayList<>();
+        final OutboxRelay relay = new OutboxRelay(jdbcTemplate, transactionTemplate, changes -> {
+            if (relayed.isEmpty()) {
+                // a transaction that took its id before the select commits only now
+                jdbcTemplate.update(INSERT_CHANGE, FIRST_ID + 1, FIRST_ID + 1);
+            }
+            changes.forEach(change -> relayed.add(change.getId()));
+        }, 500);
+
+        relay.relay();
+        relay.relay();
+
+        assertThat(relayed).contains(FIRST_ID, FIRST_ID + 1, FIRST_ID + 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox WHERE id >= ?", Long.class, FIRST_ID))
+                .isZero();
+    }
+}
@@ -0,0 +1,34 @@
+package hexlet.code.repositoryTests;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class TaskIndexesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // H2 indexes foreign keys on its own, the range on the second column
+    // is what only the composite indexes of the changelog can serve
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "SELECT id FROM tasks WHERE author_id = 1 AND id > 10 ORDER BY id | idx_tasks_author_id",
+        "SELECT id FROM tasks WHERE executor_id = 1 AND id > 10 ORDER BY id | idx_tasks_executor_id",
+        "SELECT id FROM tasks WHERE task_status_id = 1 AND id > 10 ORDER BY id | idx_tasks_task_status_id",
+        "SELECT task_id FROM tasks_labels WHERE labels_id = 1 AND task_id > 10 "
+            + "| idx_tasks_labels_labels_id_task_id",
+        "SELECT labels_id FROM tasks_labels WHERE task_id IN (1, 2) AND labels_id > 0 "
+            + "| idx_tasks_labels_task_id_labels_id"
+    })
+    public void taskQueriesUseIndexes(String query, String index) {
+        final String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+
+        assertThat(plan).containsIgnoringCase(index);
+    }
+}
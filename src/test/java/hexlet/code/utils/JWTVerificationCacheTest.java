@@ -0,0 +1,47 @@
+package hexlet.code.utils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class JWTVerificationCacheTest {
+
+    private static final Map<String, Object> ATTRIBUTES = Map.of("email", "petr@petr.com");
+    private static final long NO_CLOCK_SKEW = 0;
+    private static final long CACHE_SIZE = 100;
+
+    @Test
+    public void cachedTokenIsVerifiedOnce() {
+        final JWTHelper jwtHelper = spy(new JWTHelper("test", 60L, NO_CLOCK_SKEW, "secret"));
+        final JWTVerificationCache cache = new JWTVerificationCache(jwtHelper, new SimpleMeterRegistry(), CACHE_SIZE);
+        final String token = jwtHelper.expiring(ATTRIBUTES);
+
+        assertThat(cache.verify(token)).containsEntry("email", "petr@petr.com");
+        assertThat(cache.verify(token)).containsEntry("email", "petr@petr.com");
+
+        verify(jwtHelper, times(1)).verify(token);
+    }
+
+    @Test
+    public void expiredTokenIsNotServedFromCache() throws InterruptedException {
+        final JWTHelper jwtHelper = new JWTHelper("test", 1L, NO_CLOCK_SKEW, "secret");
+        final JWTVerificationCache cache = new JWTVerificationCache(jwtHelper, new SimpleMeterRegistry(), CACHE_SIZE);
+        final String token = jwtHelper.expiring(ATTRIBUTES);
+
+        assertThat(cache.verify(token)).containsEntry("email", "petr@petr.com");
+
+        // exp has second precision, two seconds are past it whatever the rounding
+        TimeUnit.SECONDS.sleep(2);
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
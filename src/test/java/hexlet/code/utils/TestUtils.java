@@ -10,11 +10,14 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.Map;
 
+import static hexlet.code.config.metrics.SqlStatementCountFilter.STATEMENTS_HEADER;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
@@ -79,6 +82,29 @@ public class TestUtils {
         return perform(request);
     }
 
+    /**
+     * Performs the request and fails if it ran more than maxStatements SQL statements.
+     */
+    public ResultActions performWithinStatementBudget(final MockHttpServletRequestBuilder request,
+                                                      final int maxStatements) throws Exception {
+        return perform(request).andExpect(statementCountAtMost(maxStatements));
+    }
+
+    public static ResultMatcher statementCountAtMost(final int maxStatements) {
+        return result -> assertThat(statementCount(result.getResponse().getHeader(STATEMENTS_HEADER)))
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maxStatements);
+    }
+
+    public static int statementCount(final ResultActions result) {
+        return statementCount(result.andReturn().getResponse().getHeader(STATEMENTS_HEADER));
+    }
+
+    private static int statementCount(final String header) {
+        assertThat(header).as(STATEMENTS_HEADER + " header").isNotNull();
+        return Integer.parseInt(header);
+    }
+
     public static String toJson(Object object) throws JsonProcessingException {
         return MAPPER.writeValueAsString(object);
     }